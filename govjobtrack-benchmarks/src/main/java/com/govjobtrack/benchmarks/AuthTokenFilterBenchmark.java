@@ -0,0 +1,96 @@
+package com.govjobtrack.benchmarks;
+
+import com.govjobtrack.exception.ErrorLogSampler;
+import com.govjobtrack.repository.RevokedTokenRepository;
+import com.govjobtrack.security.AuthTokenFilter;
+import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.jwt.RevokedTokens;
+import com.govjobtrack.security.jwt.UserTokenCutoffs;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole AuthTokenFilter pass per request: header parsing, verified-claims lookup, principal building, revocation
+ * checks and security context setup. Collaborators are the real classes with empty revocation state, so no database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthTokenFilterBenchmark {
+
+    // valid: a repeat request with a login token; none: anonymous; invalid: a bad signature, sampled-logged
+    @Param({"valid", "none", "invalid"})
+    private String token;
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = Fixtures.jwtUtils();
+
+        UserTokenCutoffs userTokenCutoffs = new UserTokenCutoffs();
+        ReflectionTestUtils.setField(userTokenCutoffs, "enabled", true);
+        ReflectionTestUtils.setField(userTokenCutoffs, "jwtExpirationMs", (long) Fixtures.JWT_EXPIRATION_MS);
+        userTokenCutoffs.init();
+
+        RevokedTokens revokedTokens = new RevokedTokens();
+        ReflectionTestUtils.setField(revokedTokens, "expectedTokens", 100000);
+        ReflectionTestUtils.setField(revokedTokens, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(revokedTokens, "revokedTokenRepository", Mockito.mock(RevokedTokenRepository.class));
+        revokedTokens.init();
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userTokenCutoffs", userTokenCutoffs);
+        ReflectionTestUtils.setField(filter, "revokedTokens", revokedTokens);
+        ReflectionTestUtils.setField(filter, "errorLogSampler", new ErrorLogSampler());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/bookmarks/mybookmarks");
+        String jwt = jwtUtils.generateJwtToken(UserDetailsImpl.build(Fixtures.user(42)));
+        if ("valid".equals(token)) {
+            request.addHeader("Authorization", "Bearer " + jwt);
+        } else if ("invalid".equals(token)) {
+            request.addHeader("Authorization", "Bearer " + jwt.substring(0, jwt.length() - 4) + "AAAA");
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws Exception {
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, response, chain);
+    }
+}
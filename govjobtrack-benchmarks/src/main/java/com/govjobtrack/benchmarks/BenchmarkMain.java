@@ -0,0 +1,25 @@
+package com.govjobtrack.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+
+// JMH's own Main, with the gc profiler added unless already requested, so allocation is reported with every result
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if ("-prof".equals(args[i]) && args[i + 1].startsWith("gc")) {
+                Main.main(args);
+                return;
+            }
+        }
+        String[] withGcProfiler = Arrays.copyOf(args, args.length + 2);
+        withGcProfiler[args.length] = "-prof";
+        withGcProfiler[args.length + 1] = "gc";
+        Main.main(withGcProfiler);
+    }
+}
@@ -0,0 +1,63 @@
+package com.govjobtrack.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.govjobtrack.model.Job;
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.security.jwt.JwtUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Objects shaped like production data, built without a Spring context
+final class Fixtures {
+
+    static final String JWT_SECRET = "BenchmarkSecretKeyThatIsLongEnoughForHS512SignaturesOnJwtTokens0123456789";
+    static final int JWT_EXPIRATION_MS = 900000;
+
+    private Fixtures() {
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecretString", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    static User user(long id) {
+        User user = new User("Bench", "User" + id, "bench.user" + id + "@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Z9nSU2Kq1jS6gKJvFZbH5W"); // A bcrypt hash, as stored
+        user.setId(id);
+        RoleEntity userRole = new RoleEntity(Role.ROLE_USER);
+        userRole.setId(1);
+        user.setRoles(id % 10 == 0 ? Set.of(userRole, adminRole()) : Set.of(userRole));
+        return user;
+    }
+
+    static Job job(long id, User createdBy) {
+        return new Job(id, "Assistant Section Officer " + id, "Ministry of Personnel",
+                "Recruitment of Assistant Section Officers through the combined graduate level examination. ".repeat(12),
+                "Bachelor's degree from a recognised university", "https://example.gov/notifications/" + id,
+                LocalDate.of(2026, 12, 1).plusDays(id % 60), LocalDateTime.of(2026, 10, 1, 9, 30), createdBy);
+    }
+
+    // Configured like Spring Boot's auto-configured mapper (ISO dates, not timestamps)
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static RoleEntity adminRole() {
+        RoleEntity adminRole = new RoleEntity(Role.ROLE_ADMIN);
+        adminRole.setId(2);
+        return adminRole;
+    }
+}
@@ -0,0 +1,68 @@
+package com.govjobtrack.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.govjobtrack.model.Job;
+import com.govjobtrack.payload.response.BookmarkResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
+import com.govjobtrack.service.JobMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies of GET /api/jobs and GET /api/bookmarks/mybookmarks, serialized as Spring MVC would
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private Page<PublicJobResponse> jobPage;
+    private Page<BookmarkResponse> bookmarkPage;
+
+    @Setup
+    public void setUp() {
+        writer = Fixtures.objectMapper().writer();
+        List<PublicJobResponse> jobs = new ArrayList<>(pageSize);
+        List<BookmarkResponse> bookmarks = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Job job = Fixtures.job(id, Fixtures.user(id));
+            jobs.add(JobMapper.toPublicJobResponse(job));
+            bookmarks.add(new BookmarkResponse(id, 7L, id, job.getTitle(), job.getDepartment(),
+                    job.getPostedDate().plusDays(1), job.getLastDateToApply()));
+        }
+        jobPage = new PageImpl<>(jobs, PageRequest.of(0, pageSize), 5000);
+        bookmarkPage = new PageImpl<>(bookmarks, PageRequest.of(0, pageSize), 250);
+    }
+
+    @Benchmark
+    public byte[] jobPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(jobPage);
+    }
+
+    @Benchmark
+    public byte[] bookmarkPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookmarkPage);
+    }
+}
@@ -0,0 +1,59 @@
+package com.govjobtrack.benchmarks;
+
+import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue on login/refresh, full verification, and the verified-claims cache hit taken by repeat requests
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UserDetailsImpl userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = Fixtures.jwtUtils();
+        userDetails = UserDetailsImpl.build(Fixtures.user(10)); // Two roles, as an admin token carries
+        token = jwtUtils.generateJwtToken(userDetails);
+        jwtUtils.getVerifiedClaims(token); // Warm the verified-claims cache
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims getVerifiedClaims_cached() {
+        return jwtUtils.getVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl getUserDetailsFromClaims_cached() {
+        return jwtUtils.getUserDetailsFromClaims(jwtUtils.getVerifiedClaims(token));
+    }
+}
@@ -0,0 +1,65 @@
+package com.govjobtrack.benchmarks;
+
+import com.govjobtrack.model.Job;
+import com.govjobtrack.model.User;
+import com.govjobtrack.payload.response.PublicJobResponse;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import com.govjobtrack.service.JobMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO work done per request: principal building on user lookups, and job mapping for job pages
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private User user;
+    private Job job;
+    private Page<Job> jobPage;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(10);
+        job = Fixtures.job(1, user);
+        List<Job> jobs = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            jobs.add(Fixtures.job(id, Fixtures.user(id)));
+        }
+        jobPage = new PageImpl<>(jobs, PageRequest.of(0, 20), 1000);
+    }
+
+    @Benchmark
+    public UserDetailsImpl userDetailsBuild() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public PublicJobResponse toPublicJobResponse() {
+        return JobMapper.toPublicJobResponse(job);
+    }
+
+    // As JobServiceImpl.getAllJobs does for the default page size
+    @Benchmark
+    public Page<PublicJobResponse> toPublicJobResponsePage() {
+        return jobPage.map(JobMapper::toPublicJobResponse);
+    }
+}
@@ -0,0 +1,88 @@
+package com.govjobtrack.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every response time of one scenario run, per request label (e.g. "GET /api/jobs/{id}"). Samples are kept in full
+ * and sorted for reporting, so percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByLabel = new ConcurrentHashMap<>();
+
+    void record(String label, long nanos, int status) {
+        samplesByLabel.computeIfAbsent(label, key -> new Samples()).add(nanos, status);
+    }
+
+    // label -> count, errors, p50/p90/p99/max in ms, plus the "all requests" aggregate under "*"
+    Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        Samples all = new Samples();
+        samplesByLabel.forEach((label, samples) -> {
+            summary.put(label, samples.summarize(elapsedSeconds));
+            all.addAll(samples);
+        });
+        summary.put("*", all.summarize(elapsedSeconds));
+        return summary;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private final Map<Integer, Integer> errorsByStatus = new TreeMap<>();
+
+        synchronized void add(long latencyNanos, int status) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+            if (status < 200 || status >= 300) {
+                errorsByStatus.merge(status, 1, Integer::sum);
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.nanos[i], 200);
+                }
+                other.errorsByStatus.forEach((status, count) -> errorsByStatus.merge(status, count, Integer::sum));
+            }
+        }
+
+        synchronized Map<String, Object> summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", size);
+            summary.put("throughputPerSecond", round(size / elapsedSeconds));
+            summary.put("p50Ms", percentileMs(sorted, 50));
+            summary.put("p90Ms", percentileMs(sorted, 90));
+            summary.put("p99Ms", percentileMs(sorted, 99));
+            summary.put("maxMs", size == 0 ? 0 : millis(sorted[size - 1]));
+            summary.put("errorsByStatus", new TreeMap<>(errorsByStatus));
+            return summary;
+        }
+
+        // Nearest-rank percentile
+        private static double percentileMs(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return millis(sorted[Math.max(rank, 1) - 1]);
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
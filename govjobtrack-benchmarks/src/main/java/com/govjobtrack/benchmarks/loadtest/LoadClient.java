@@ -0,0 +1,107 @@
+package com.govjobtrack.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Blocking JSON client over java.net.http. Each call is timed from send to fully read body and recorded under its
+ * label when a recorder is given; seeding calls pass null and are not measured.
+ */
+final class LoadClient {
+
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response get(LatencyRecorder recorder, String label, String path, String token) {
+        return send(recorder, label, request(path, token).GET());
+    }
+
+    Response post(LatencyRecorder recorder, String label, String path, String token, Object body) {
+        return send(recorder, label, request(path, token).POST(json(body)));
+    }
+
+    Response put(LatencyRecorder recorder, String label, String path, String token, Object body) {
+        return send(recorder, label, request(path, token).PUT(json(body)));
+    }
+
+    Response delete(LatencyRecorder recorder, String label, String path, String token) {
+        return send(recorder, label, request(path, token).DELETE());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Response send(LatencyRecorder recorder, String label, HttpRequest.Builder builder) {
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (recorder != null) {
+                recorder.record(label, System.nanoTime() - start, response.statusCode());
+            }
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            if (recorder != null) {
+                recorder.record(label, System.nanoTime() - start, 0); // Status 0: connection failure or timeout
+            }
+            return new Response(0, new byte[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + label, e);
+        }
+    }
+
+    final class Response {
+        final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
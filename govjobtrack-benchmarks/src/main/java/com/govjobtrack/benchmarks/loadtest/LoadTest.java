@@ -0,0 +1,191 @@
+package com.govjobtrack.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.govjobtrack.GovjobtrackApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load driver. Without --target it boots the API in-process with the "loadtest" profile (H2, no rate limits),
+ * seeds it through the API, then runs each scenario as a closed loop: a fixed number of worker threads, a fixed
+ * number of iterations after a discarded warmup, and seeded randomness, so runs with equal options are comparable.
+ * Prints per-endpoint throughput and latency percentiles and writes them as JSON.
+ *
+ * <pre>
+ * mvn -B install -DskipTests
+ * mvn -B -f govjobtrack-benchmarks/pom.xml compile exec:java -Dexec.args="--threads=16 --iterations=5000"
+ * </pre>
+ *
+ * Options (defaults in brackets): --target=http://host:port [embedded], --scenarios=browse,login,bookmark,admin,
+ * --threads [16], --iterations per scenario [2000], --warmup iterations [500], --users [100], --jobs [500],
+ * --bookmarks-per-user [5], --seed [42], --out [target/loadtest-results.json].
+ * Client and server share the machine (and, when embedded, the JVM); compare runs made the same way.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.target;
+        if (baseUrl == null) {
+            SpringApplication application = new SpringApplication(GovjobtrackApplication.class);
+            application.setAdditionalProfiles("loadtest");
+            context = application.run("--server.port=0");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadClient client = new LoadClient(baseUrl);
+            System.out.printf("Seeding %s: %d users, %d jobs, %d bookmarks per user%n", baseUrl, options.users,
+                    options.jobs, options.bookmarksPerUser);
+            SeedData seed = SeedData.create(client, options);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Scenario scenario : options.scenarios) {
+                run(client, seed, options, scenario, options.warmup);
+                LatencyRecorder recorder = new LatencyRecorder();
+                double elapsedSeconds = run(client, seed, options, scenario, options.iterations, recorder);
+                Map<String, Map<String, Object>> summary = recorder.summarize(elapsedSeconds);
+                print(scenario, elapsedSeconds, summary);
+                results.put(scenario.name().toLowerCase(Locale.ROOT), summary);
+            }
+            write(options, baseUrl, results);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(LoadClient client, SeedData seed, Options options, Scenario scenario, int iterations)
+            throws Exception {
+        run(client, seed, options, scenario, iterations, null);
+    }
+
+    private static double run(LoadClient client, SeedData seed, Options options, Scenario scenario, int iterations,
+                              LatencyRecorder recorder) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < options.threads; i++) {
+                Scenario.Worker worker = new Scenario.Worker(i, seed, options.seed);
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        scenario.iteration(client, recorder, seed, worker);
+                        worker.iterations++;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static void print(Scenario scenario, double elapsedSeconds, Map<String, Map<String, Object>> summary) {
+        System.out.printf("%n== %s (%.1f s)%n", scenario.name().toLowerCase(Locale.ROOT), elapsedSeconds);
+        System.out.printf("%-40s %9s %9s %9s %9s %9s %9s  %s%n", "request", "count", "req/s", "p50 ms", "p90 ms",
+                "p99 ms", "max ms", "errors");
+        summary.forEach((label, stats) -> System.out.printf("%-40s %9s %9s %9s %9s %9s %9s  %s%n",
+                "*".equals(label) ? "all" : label, stats.get("requests"), stats.get("throughputPerSecond"),
+                stats.get("p50Ms"), stats.get("p90Ms"), stats.get("p99Ms"), stats.get("maxMs"), stats.get("errorsByStatus")));
+    }
+
+    private static void write(Options options, String baseUrl, Map<String, Object> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("target", options.target == null ? "embedded" : baseUrl);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("options", options.asMap());
+        report.put("scenarios", results);
+        File out = new File(options.out);
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+        System.out.printf("%nResults written to %s%n", out.getPath());
+    }
+
+    static final class Options {
+        String target;
+        List<Scenario> scenarios = List.of(Scenario.values());
+        int threads = 16;
+        int iterations = 2000;
+        int warmup = 500;
+        int users = 100;
+        int jobs = 500;
+        int bookmarksPerUser = 5;
+        long seed = 42;
+        String out = "target/loadtest-results.json";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                }
+                String name = arg.substring(2, equals);
+                String value = arg.substring(equals + 1);
+                switch (name) {
+                    case "target": options.target = value; break;
+                    case "threads": options.threads = Integer.parseInt(value); break;
+                    case "iterations": options.iterations = Integer.parseInt(value); break;
+                    case "warmup": options.warmup = Integer.parseInt(value); break;
+                    case "users": options.users = Integer.parseInt(value); break;
+                    case "jobs": options.jobs = Integer.parseInt(value); break;
+                    case "bookmarks-per-user": options.bookmarksPerUser = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    case "out": options.out = value; break;
+                    case "scenarios":
+                        List<Scenario> scenarios = new ArrayList<>();
+                        for (String scenario : value.split(",")) {
+                            scenarios.add(Scenario.valueOf(scenario.trim().toUpperCase(Locale.ROOT)));
+                        }
+                        options.scenarios = scenarios;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            // Bookmark workers each own a user, so toggles never race on the same bookmark
+            options.users = Math.max(options.users, options.threads);
+            return options;
+        }
+
+        Map<String, Object> asMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scenarios", scenarios);
+            map.put("threads", threads);
+            map.put("iterations", iterations);
+            map.put("warmup", warmup);
+            map.put("users", users);
+            map.put("jobs", jobs);
+            map.put("bookmarksPerUser", bookmarksPerUser);
+            map.put("seed", seed);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.govjobtrack.benchmarks.loadtest;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * One iteration of a scripted user journey. Each worker thread runs iterations of a single scenario with its own
+ * seeded Random and, for signed-in scenarios, its own seeded user, so workers never contend for the same rows.
+ */
+enum Scenario {
+
+    // Anonymous visitors: mostly job listings and job pages, occasionally "also bookmarked"
+    BROWSE {
+        @Override
+        void iteration(LoadClient client, LatencyRecorder recorder, SeedData seed, Worker worker) {
+            double pick = worker.random.nextDouble();
+            if (pick < 0.5) {
+                int page = worker.random.nextInt(Math.max(1, seed.jobIds.size() / 20));
+                client.get(recorder, "GET /api/jobs", "/api/jobs?page=" + page + "&size=20", null);
+            } else if (pick < 0.9) {
+                client.get(recorder, "GET /api/jobs/{id}", "/api/jobs/" + seed.popularJobId(worker.random), null);
+            } else {
+                client.get(recorder, "GET /api/jobs/{id}/also-bookmarked",
+                        "/api/jobs/" + seed.popularJobId(worker.random) + "/also-bookmarked", null);
+            }
+        }
+    },
+
+    // Sign-ins of seeded users; dominated by password hashing, and by 503s once the hashing queue is full
+    LOGIN {
+        @Override
+        void iteration(LoadClient client, LatencyRecorder recorder, SeedData seed, Worker worker) {
+            SeedData.signInResponse(client, recorder, seed.userEmails.get(worker.random.nextInt(seed.userEmails.size())));
+        }
+    },
+
+    // Signed-in users toggling bookmarks on popular jobs, checking their list every few toggles
+    BOOKMARK {
+        @Override
+        void iteration(LoadClient client, LatencyRecorder recorder, SeedData seed, Worker worker) {
+            String token = seed.userTokens.get(worker.user);
+            Set<Long> bookmarked = worker.bookmarked;
+            long jobId = seed.popularJobId(worker.random);
+            if (bookmarked.remove(jobId)) {
+                client.delete(recorder, "DELETE /api/bookmarks/job/{id}", "/api/bookmarks/job/" + jobId, token);
+            } else {
+                bookmarked.add(jobId);
+                client.post(recorder, "POST /api/bookmarks/job/{id}", "/api/bookmarks/job/" + jobId, token,
+                        Collections.emptyMap());
+            }
+            if (worker.iterations % 5 == 0) {
+                client.get(recorder, "GET /api/bookmarks/mybookmarks", "/api/bookmarks/mybookmarks?page=0&size=10", token);
+            }
+        }
+    },
+
+    // An admin posting a job and then correcting it
+    ADMIN {
+        @Override
+        void iteration(LoadClient client, LatencyRecorder recorder, SeedData seed, Worker worker) {
+            int index = 1_000_000 + worker.index * 100_000 + worker.iterations;
+            long jobId = SeedData.createJob(client, recorder, seed.adminToken, worker.random, index).get("id").asLong();
+            client.put(recorder, "PUT /api/jobs/{id}", "/api/jobs/" + jobId, seed.adminToken,
+                    Map.of("title", "Recruitment " + index + " (corrected)", "department", "Department of Posts",
+                            "description", "Corrected notification.", "qualification", "Graduate",
+                            "lastDateToApply", LocalDate.now().plusDays(30).toString()));
+        }
+    };
+
+    abstract void iteration(LoadClient client, LatencyRecorder recorder, SeedData seed, Worker worker);
+
+    static final class Worker {
+        final int index;
+        final int user;
+        final Random random;
+        final Set<Long> bookmarked;
+        int iterations;
+
+        Worker(int index, SeedData seed, long runSeed) {
+            this.index = index;
+            this.user = index % seed.userTokens.size();
+            this.random = new Random(runSeed * 1_000_003 + index);
+            this.bookmarked = seed.userBookmarks.get(user);
+        }
+    }
+}
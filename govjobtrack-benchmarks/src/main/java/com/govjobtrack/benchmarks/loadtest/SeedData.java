@@ -0,0 +1,132 @@
+package com.govjobtrack.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Users, jobs and bookmarks created through the public API before the measured runs, so the same seeding works
+ * against the embedded application and against an external target. Deterministic for a given seed.
+ */
+final class SeedData {
+
+    static final String PASSWORD = "LoadTest-Password-1";
+
+    private static final String[] DEPARTMENTS = {
+            "Ministry of Railways", "Ministry of Defence", "Staff Selection Commission", "Union Public Service Commission",
+            "Ministry of Health", "Department of Posts", "State Public Service Commission", "Ministry of Finance"};
+
+    final String adminToken;
+    final List<String> userEmails = new ArrayList<>();
+    final List<String> userTokens = new ArrayList<>();
+    // Per user, the job ids bookmarked during seeding; each measured worker then owns one user's set
+    final List<Set<Long>> userBookmarks = new ArrayList<>();
+    final List<Long> jobIds = new ArrayList<>();
+
+    private SeedData(String adminToken) {
+        this.adminToken = adminToken;
+    }
+
+    static SeedData create(LoadClient client, LoadTest.Options options) throws Exception {
+        String runId = Long.toString(options.seed, 36);
+        String adminEmail = "loadtest.admin." + runId + "@example.com";
+        signUp(client, adminEmail, Set.of("admin", "user"));
+        SeedData seed = new SeedData(signIn(client, adminEmail));
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        try {
+            // Sign-ups and sign-ins hash passwords, so they are the slow part of seeding and run in parallel
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < options.users; i++) {
+                String email = "loadtest.user" + i + "." + runId + "@example.com";
+                seed.userEmails.add(email);
+                tokens.add(executor.submit(() -> {
+                    signUp(client, email, Set.of("user"));
+                    return signIn(client, email);
+                }));
+            }
+            for (Future<String> token : tokens) {
+                seed.userTokens.add(token.get());
+            }
+
+            Random random = new Random(options.seed);
+            for (int i = 0; i < options.jobs; i++) {
+                seed.jobIds.add(createJob(client, null, seed.adminToken, random, i).get("id").asLong());
+            }
+
+            List<Future<Set<Long>>> bookmarks = new ArrayList<>();
+            for (int user = 0; user < options.users; user++) {
+                Random userRandom = new Random(options.seed * 31 + user);
+                String token = seed.userTokens.get(user);
+                bookmarks.add(executor.submit(() -> {
+                    Set<Long> bookmarked = new HashSet<>();
+                    for (int i = 0; i < options.bookmarksPerUser; i++) {
+                        long jobId = seed.popularJobId(userRandom);
+                        if (bookmarked.add(jobId)) {
+                            client.post(null, null, "/api/bookmarks/job/" + jobId, token, Collections.emptyMap());
+                        }
+                    }
+                    return bookmarked;
+                }));
+            }
+            for (Future<Set<Long>> bookmarked : bookmarks) {
+                seed.userBookmarks.add(bookmarked.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return seed;
+    }
+
+    // Skewed towards the first jobs, as real traffic concentrates on a few popular postings
+    long popularJobId(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return jobIds.get((int) (skewed * jobIds.size()));
+    }
+
+    static JsonNode createJob(LoadClient client, LatencyRecorder recorder, String adminToken, Random random, int index) {
+        Map<String, Object> job = new LinkedHashMap<>();
+        String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+        job.put("title", "Recruitment " + index + ": Assistant Section Officer");
+        job.put("department", department);
+        job.put("description", ("Applications are invited for posts in the " + department + ". ").repeat(5 + random.nextInt(30)));
+        job.put("qualification", "Bachelor's degree from a recognised university");
+        job.put("applicationLink", "https://example.gov/apply/" + index);
+        job.put("lastDateToApply", LocalDate.now().plusDays(1 + random.nextInt(90)).toString());
+        LoadClient.Response response = client.post(recorder, "POST /api/jobs", "/api/jobs", adminToken, job);
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Creating a job failed with HTTP " + response.status);
+        }
+        return response.json();
+    }
+
+    static LoadClient.Response signInResponse(LoadClient client, LatencyRecorder recorder, String email) {
+        return client.post(recorder, "POST /api/auth/signin", "/api/auth/signin", null,
+                Map.of("email", email, "password", PASSWORD));
+    }
+
+    private static void signUp(LoadClient client, String email, Set<String> roles) {
+        // A 400 means the user exists from an earlier run against the same target, which is fine
+        client.post(null, null, "/api/auth/signup", null, Map.of(
+                "firstName", "Load", "lastName", "Tester", "email", email, "password", PASSWORD, "role", roles));
+    }
+
+    private static String signIn(LoadClient client, String email) {
+        LoadClient.Response response = signInResponse(client, null, email);
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Sign-in of " + email + " failed with HTTP " + response.status);
+        }
+        return response.json().get("token").asText();
+    }
+}
@@ -3,9 +3,11 @@ package com.govjobtrack;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing // To enable automatic population of fields like createdDate, lastModifiedDate
+@EnableScheduling // For the daily deadline reminder job
 public class GovjobtrackApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,79 @@
+package com.govjobtrack.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.govjobtrack.service.BookmarkCalendarFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache of PublicJobResponse DTOs keyed by job id. Holding DTOs (not entities) avoids lazy-loading outside a session.
+    public static final String JOBS_CACHE = "jobs";
+
+    // Per-user sorted long[] of bookmarked job ids, used for "is bookmarked" overlays on listing pages
+    public static final String BOOKMARKED_JOB_IDS_CACHE = "bookmarkedJobIds";
+
+    // Rendered iCalendar feeds (BookmarkCalendarFeed) keyed by user id, bounded by total size in bytes
+    public static final String BOOKMARK_CALENDARS_CACHE = "bookmarkCalendars";
+
+    // UserDetailsImpl keyed by email, for logins and tokens without identity claims
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    @Value("${app.cache.jobs.max-size:10000}")
+    private long jobsMaxSize;
+
+    @Value("${app.cache.jobs.ttl-seconds:600}")
+    private long jobsTtlSeconds;
+
+    @Value("${app.cache.bookmarked-job-ids.max-size:50000}")
+    private long bookmarkedJobIdsMaxSize;
+
+    @Value("${app.cache.bookmarked-job-ids.ttl-seconds:1800}")
+    private long bookmarkedJobIdsTtlSeconds;
+
+    @Value("${app.cache.bookmark-calendars.max-bytes:33554432}")
+    private long bookmarkCalendarsMaxBytes;
+
+    @Value("${app.cache.user-details.max-size:10000}")
+    private long userDetailsMaxSize;
+
+    // Short: entries are evicted on every user change, the TTL only bounds changes made outside this instance
+    @Value("${app.cache.user-details.ttl-seconds:300}")
+    private long userDetailsTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(JOBS_CACHE, Caffeine.newBuilder()
+                .maximumSize(jobsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(jobsTtlSeconds))
+                .recordStats()
+                .build());
+        // Size-bounded eviction drops the least recently/frequently used users first; the TTL bounds staleness
+        // from writers outside this instance.
+        cacheManager.registerCustomCache(BOOKMARKED_JOB_IDS_CACHE, Caffeine.newBuilder()
+                .maximumSize(bookmarkedJobIdsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(bookmarkedJobIdsTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(BOOKMARK_CALENDARS_CACHE, Caffeine.newBuilder()
+                .maximumWeight(bookmarkCalendarsMaxBytes)
+                .weigher((Object userId, Object feed) -> ((BookmarkCalendarFeed) feed).getContent().length)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userDetailsTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,37 @@
+package com.govjobtrack.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Periodically logs hit rates of the application caches (all registered with recordStats)
+@Component
+public class CacheStatsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatsReporter.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-interval-ms:300000}",
+               initialDelayString = "${app.cache.stats-log-interval-ms:300000}")
+    public void logCacheStats() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheStats stats = statsOf(cacheName);
+            if (stats != null && stats.requestCount() > 0) {
+                logger.info("Cache '{}': hit rate {}%, {} hits, {} misses, {} evictions", cacheName,
+                        String.format("%.1f", stats.hitRate() * 100), stats.hitCount(), stats.missCount(), stats.evictionCount());
+            }
+        }
+    }
+
+    public CacheStats statsOf(String cacheName) {
+        Object cache = cacheManager.getCache(cacheName);
+        return cache instanceof CaffeineCache ? ((CaffeineCache) cache).getNativeCache().stats() : null;
+    }
+}
@@ -3,17 +3,24 @@ package com.govjobtrack.config;
 import com.govjobtrack.model.Role;
 import com.govjobtrack.model.RoleEntity;
 import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.service.RoleRegistry;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional; // Import for @Transactional
 
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Roles first: other runners (e.g. SyntheticDataGenerator) seed users that reference them
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private RoleRegistry roleRegistry;
+
     @Override
     @Transactional // Add Transactional to ensure operations are within a transaction
     public void run(String... args) throws Exception {
@@ -32,5 +39,8 @@ public class DataInitializer implements CommandLineRunner {
         } else {
             System.out.println("DataInitializer: ROLE_ADMIN already exists.");
         }
+
+        // Signups resolve roles from memory from here on
+        roleRegistry.load();
     }
 }
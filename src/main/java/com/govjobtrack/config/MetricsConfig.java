@@ -0,0 +1,68 @@
+package com.govjobtrack.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Configuration
+public class MetricsConfig {
+
+    // Tags http.server.requests with the controller method that served it (e.g. "JobController.getJobById"),
+    // so latency histograms can be read per endpoint rather than per URI template
+    @Bean
+    public WebMvcTagsContributor handlerMethodTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of("handler", handlerName(handler));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    // "Controller.method" for handler methods, "none" for anything else (static resources, unmatched paths)
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+
+    // Per-request SQL statement counting; configured here rather than in application.properties so it is on everywhere
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementListenerCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementListener());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SqlStatementCountingFilter sqlStatementCountingFilter() {
+        return new SqlStatementCountingFilter();
+    }
+
+    // Just ahead of the Spring Security chain
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountingFilter> sqlStatementCountingFilterRegistration(SqlStatementCountingFilter filter) {
+        FilterRegistrationBean<SqlStatementCountingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,76 @@
+package com.govjobtrack.config;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules, bound from app.rate-limit.* (e.g. app.rate-limit.rules[0].pattern=/api/auth/signin).
+ * Rules are checked in order and the first one matching the request's method and path applies.
+ * Setting any rule in configuration replaces the defaults below. Validated at startup: a zero capacity or period
+ * would otherwise only fail inside TokenBucket on the first matching request.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+@Data
+public class RateLimitProperties {
+
+    public enum KeyType {
+        IP,   // Client address
+        USER  // Authenticated user id; anonymous requests fall back to the client address
+    }
+
+    private boolean enabled = true;
+
+    @Valid
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("/api/auth/signin", List.of("POST"), KeyType.IP, 20, Duration.ofMinutes(1)),
+            new Rule("/api/auth/signup", List.of("POST"), KeyType.IP, 10, Duration.ofMinutes(10)),
+            new Rule("/api/auth/refresh", List.of("POST"), KeyType.IP, 30, Duration.ofMinutes(1)),
+            new Rule("/api/**", List.of("POST", "PUT", "PATCH", "DELETE"), KeyType.USER, 120, Duration.ofMinutes(1))));
+
+    // Sign-in attempts per account (email) on top of the rules, enforced by SignInRateLimiter once the body is read
+    @Valid
+    private Limit signinPerAccount = new Limit(5, Duration.ofMinutes(5));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        @NotBlank
+        private String pattern;
+        private List<String> methods = new ArrayList<>(); // Empty matches every method
+        @NotNull
+        private KeyType key = KeyType.IP;
+        @Positive
+        private int capacity;                            // Burst size
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration period = Duration.ofMinutes(1); // Time to refill the full capacity
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        @Positive
+        private int capacity;
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration period;
+    }
+}
@@ -0,0 +1,90 @@
+package com.govjobtrack.config;
+
+/**
+ * Time spent in each phase of the request being served on the current thread, between {@link #start()} and
+ * {@link #stop()} (see ServerTimingFilter). Not thread-safe, as each instance belongs to one thread. Callers reach it
+ * through {@link #current()}, which is null when Server-Timing is disabled, so the hooks then cost a ThreadLocal read.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        FILTERS("filters"), // Servlet filters up to the handler, Spring Security included
+        AUTH("auth"),       // Bearer token verification and principal lookup (AuthTokenFilter)
+        APP("app"),         // Outermost service calls, entity mapping and lazy loads included
+        DB("db"),           // JDBC execution of Hibernate statements (SqlStatementStats)
+        JSON("json");       // Response body serialization
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanosByPhase = new long[Phase.values().length];
+    private int serviceDepth;
+    private long serializationStartNanos;
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public void add(Phase phase, long nanos) {
+        nanosByPhase[phase.ordinal()] += nanos;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanosByPhase[phase.ordinal()];
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Called once the handler is reached; everything before it was filters
+    void onHandlerStart() {
+        nanosByPhase[Phase.FILTERS.ordinal()] = getElapsedNanos();
+    }
+
+    // Service calls can nest when one service calls another through its proxy; only the outermost one is counted
+    void enterService() {
+        serviceDepth++;
+    }
+
+    void exitService(long nanos) {
+        if (--serviceDepth == 0) {
+            add(Phase.APP, nanos);
+        }
+    }
+
+    void onSerializationStart() {
+        serializationStartNanos = System.nanoTime();
+    }
+
+    void onSerializationEnd() {
+        if (serializationStartNanos != 0) {
+            add(Phase.JSON, System.nanoTime() - serializationStartNanos);
+            serializationStartNanos = 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.govjobtrack.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class SchemaConfig {
+
+    static final String LONG_TEXT_TYPE = "long_text_type";
+
+    // Column type of @Lob strings in the migrations: LONGTEXT on MySQL, CLOB elsewhere (H2 in tests and load tests).
+    // Derived from the database rather than set in application.properties, so every environment gets it;
+    // spring.flyway.placeholders.long_text_type still overrides it.
+    @Bean
+    public FlywayConfigurationCustomizer longTextTypePlaceholder() {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.computeIfAbsent(LONG_TEXT_TYPE, key -> {
+                try {
+                    String product = JdbcUtils.extractDatabaseMetaData(configuration.getDataSource(),
+                            DatabaseMetaData::getDatabaseProductName);
+                    return "MySQL".equalsIgnoreCase(product) ? "LONGTEXT" : "CLOB";
+                } catch (MetaDataAccessException ex) {
+                    throw new IllegalStateException("Cannot determine the database type for the schema migrations", ex);
+                }
+            });
+            configuration.placeholders(placeholders);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.govjobtrack.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// Server-Timing is off unless app.server-timing.enabled=true; without these beans the timing hooks are no-ops
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter() {
+        return new ServerTimingFilter();
+    }
+
+    // Outside SqlStatementCountingFilter (DEFAULT_FILTER_ORDER - 1), so the request's DB time is final when read
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(ServerTimingFilter filter) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    // Marks the end of the filters phase, and of serialization (ServerTimingBodyAdvice marks its start)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTimings timings = RequestTimings.current();
+                if (timings != null) {
+                    timings.onHandlerStart();
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                RequestTimings timings = RequestTimings.current();
+                if (timings != null) {
+                    timings.onSerializationEnd();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.govjobtrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks each request down into the phases of {@link RequestTimings.Phase}, reported in a {@code Server-Timing}
+ * header (e.g. {@code filters;dur=1.2, auth;dur=0.4, app;dur=5.1, db;dur=2.0, json;dur=0.3, total;dur=7.0}) and
+ * as the {@code govjobtrack.request.phase} timer, tagged with phase and handler. The body is buffered so the header
+ * can still be set once serialization is over. Runs outside SqlStatementCountingFilter, whose DB time it reads.
+ */
+// Not marking with @Component here, it will be created as a bean in ServerTimingConfig
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String METRIC = "govjobtrack.request.phase";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            RequestTimings.stop();
+        }
+
+        SqlStatementStats sqlStats = (SqlStatementStats) request.getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        if (sqlStats != null) {
+            timings.add(RequestTimings.Phase.DB, sqlStats.getDbTimeNanos());
+        }
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, headerValue(timings));
+        }
+        bufferedResponse.copyBodyToResponse();
+        record(request, timings);
+    }
+
+    private static String headerValue(RequestTimings timings) {
+        StringBuilder header = new StringBuilder();
+        for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+            long nanos = timings.getNanos(phase);
+            if (nanos > 0) {
+                appendDuration(header, phase.getMetricName(), nanos);
+            }
+        }
+        appendDuration(header, "total", timings.getElapsedNanos());
+        return header.toString();
+    }
+
+    // Milliseconds with two decimals, e.g. "db;dur=2.07"
+    private static void appendDuration(StringBuilder header, String name, long nanos) {
+        header.append(header.length() == 0 ? "" : ", ").append(name).append(";dur=").append(Math.round(nanos / 1e4) / 100.0);
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        String handler = MetricsConfig.handlerName(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+            long nanos = timings.getNanos(phase);
+            if (nanos > 0) {
+                Timer.builder(METRIC)
+                        .tag("phase", phase.getMetricName())
+                        .tag("handler", handler)
+                        .register(meterRegistry)
+                        .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.govjobtrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the job, bookmark and auth services as {@code govjobtrack.service}, tagged with
+ * class, method and exception. Runs outermost, so the time includes cache lookups and transaction commit.
+ * The outermost service call of a request is also its Server-Timing "app" phase.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTimingAspect {
+
+    public static final String METRIC = "govjobtrack.service";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Successful calls are the hot path, so their timers are resolved once per method
+    private final ConcurrentHashMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.govjobtrack.service.JobService+.*(..))"
+            + " || execution(public * com.govjobtrack.service.BookmarkService+.*(..))"
+            + " || execution(public * com.govjobtrack.service.AuthService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.enterService();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            successTimers.computeIfAbsent(method, key -> timer(joinPoint, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(joinPoint, ex.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        } finally {
+            if (timings != null) {
+                timings.exitService(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(METRIC)
+                .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.govjobtrack.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SlowQueryConfig {
+
+    // Wraps every DataSource bean so its statements are timed; with app.sql.slow-query.enabled=false nothing is wrapped.
+    // Static, as bean post-processors are created before the rest of the configuration.
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${app.sql.slow-query.enabled:true}") boolean enabled,
+            @Value("${app.sql.slow-query.threshold-ms:200}") long thresholdMillis,
+            ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource((DataSource) bean, TimeUnit.MILLISECONDS.toNanos(thresholdMillis), slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+}
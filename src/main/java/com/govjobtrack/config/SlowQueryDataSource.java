@@ -0,0 +1,143 @@
+package com.govjobtrack.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Times every statement executed on connections from the wrapped DataSource and hands those at or over the threshold,
+ * failed ones included, to the SlowQueryLog with their bind values. A fast statement costs two nanoTime calls plus
+ * keeping its bind values in an array. Wrapped around the application DataSource by SlowQueryConfig.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = SlowQueryDataSource.class.getClassLoader();
+
+    private final long thresholdNanos;
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public SlowQueryDataSource(DataSource target, long thresholdNanos, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        super(target);
+        this.thresholdNanos = thresholdNanos;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private void onExecuted(String sql, Object[] binds, int bindCount, long elapsedNanos) {
+        if (elapsedNanos >= thresholdNanos && sql != null) {
+            // EXPLAINs go straight to the target, so they are never timed themselves
+            slowQueryLog.getObject().record(sql, Arrays.copyOf(binds, bindCount), elapsedNanos, obtainTargetDataSource());
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareCall":
+                    return statementProxy(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "prepareStatement":
+                    return statementProxy(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement":
+                    return statementProxy(Statement.class, (Statement) result, null);
+                default:
+                    return result;
+            }
+        }
+
+        private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql; // Null for plain statements, whose SQL comes with each execute call
+        private Object[] binds = new Object[8];
+        private int bindCount;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                long started = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(target, method, args);
+                } finally {
+                    onExecuted(sql, binds, sql == preparedSql ? bindCount : 0, System.nanoTime() - started);
+                }
+            }
+            // Positional parameter setters: setLong(1, 42L), setNull(2, Types.VARCHAR), setTimestamp(3, ts, calendar)...
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                bindCount = 0;
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.govjobtrack.config;
+
+import com.govjobtrack.exception.ErrorLogSampler;
+import com.govjobtrack.payload.response.SlowQueryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rolling record of slow SQL statements, fed by SlowQueryDataSource and grouped by shape (see SqlStatementStats).
+ * Each shape keeps its stats for one window at a time, and shapes not seen for a whole window drop out. The first
+ * slow execution of a shape in each window is EXPLAINed in the background with the values it was run with; those
+ * values are used for nothing else and are not kept. Statements with stream or LOB values are not EXPLAINed, as
+ * those values can only be read once.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final String[] EXPLAINABLE = {"select", "with", "update", "delete", "insert"};
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Value("${app.sql.slow-query.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${app.sql.slow-query.max-shapes:200}")
+    private int maxShapes;
+
+    @Value("${app.sql.slow-query.explain:true}")
+    private boolean explainEnabled;
+
+    @Value("${app.sql.slow-query.explain-timeout-seconds:5}")
+    private int explainTimeoutSeconds;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private ExecutorService explainExecutor;
+
+    @PostConstruct
+    void init() {
+        // One worker and a short queue: when the database is struggling, EXPLAINs are dropped rather than piled on
+        explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    public void record(String sql, Object[] binds, long elapsedNanos, DataSource explainOn) {
+        String shape = SqlStatementStats.shapeOf(sql);
+        String bindShape = bindShapeOf(binds);
+        long now = System.currentTimeMillis();
+        errorLogSampler.warn(logger, "SlowQuery", "Slow SQL ({} ms, binds [{}]): {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), bindShape, shape);
+
+        Entry entry = entries.get(shape);
+        if (entry == null) {
+            if (entries.size() >= maxShapes && !makeRoom(now, elapsedNanos)) {
+                return; // Full of shapes slower than this one
+            }
+            entry = entries.computeIfAbsent(shape, Entry::new);
+        }
+        if (entry.add(elapsedNanos, bindShape, now, windowMillis()) && explainEnabled && isExplainable(sql)) {
+            if (hasStreamedValue(binds)) {
+                // The statement has already consumed the stream, so binding it again would read nothing or fail
+                entry.explain = List.of("EXPLAIN skipped: stream or LOB parameters cannot be bound twice");
+            } else {
+                Entry explained = entry;
+                explainExecutor.execute(() -> explained.explain = explain(sql, binds, explainOn));
+            }
+        }
+    }
+
+    // Shapes seen within the window, slowest first
+    public List<SlowQueryResponse> top(int limit) {
+        long seenAfter = System.currentTimeMillis() - windowMillis();
+        return entries.values().stream()
+                .filter(entry -> entry.lastSeen > seenAfter)
+                .map(Entry::toResponse)
+                .sorted(Comparator.comparingDouble(SlowQueryResponse::getMaxMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private long windowMillis() {
+        return TimeUnit.MINUTES.toMillis(windowMinutes);
+    }
+
+    // Drops shapes not seen for a window, else the one with the fastest worst case if this statement was slower
+    private boolean makeRoom(long now, long elapsedNanos) {
+        entries.values().removeIf(entry -> entry.lastSeen <= now - windowMillis());
+        if (entries.size() < maxShapes) {
+            return true;
+        }
+        Entry fastest = entries.values().stream().min(Comparator.comparingLong(entry -> entry.maxNanos)).orElse(null);
+        return fastest != null && fastest.maxNanos < elapsedNanos && entries.remove(fastest.shape, fastest);
+    }
+
+    private List<String> explain(String sql, Object[] binds, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setQueryTimeout(explainTimeoutSeconds);
+            for (int i = 0; i < binds.length; i++) {
+                statement.setObject(i + 1, binds[i]);
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    StringBuilder row = new StringBuilder();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        Object value = resultSet.getObject(column);
+                        if (value != null) {
+                            row.append(row.length() == 0 ? "" : ", ");
+                            // Single-column plans (H2) are the plan text itself
+                            row.append(metaData.getColumnCount() == 1 ? "" : metaData.getColumnLabel(column) + "=").append(value);
+                        }
+                    }
+                    plan.add(row.toString());
+                }
+            }
+            return plan;
+        } catch (SQLException ex) {
+            logger.debug("EXPLAIN failed for {}", sql, ex);
+            return List.of("EXPLAIN failed: " + ex.getMessage());
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (String keyword : EXPLAINABLE) {
+            if (start.startsWith(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasStreamedValue(Object[] binds) {
+        for (Object bind : binds) {
+            if (bind instanceof InputStream || bind instanceof Reader || bind instanceof Blob || bind instanceof Clob
+                    || bind instanceof SQLXML) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Class names of the bound values, runs collapsed: "Long, String*3, null"
+    static String bindShapeOf(Object[] binds) {
+        StringBuilder shape = new StringBuilder();
+        int i = 0;
+        while (i < binds.length) {
+            String type = binds[i] == null ? "null" : binds[i].getClass().getSimpleName();
+            int run = 1;
+            while (i + run < binds.length && type.equals(binds[i + run] == null ? "null" : binds[i + run].getClass().getSimpleName())) {
+                run++;
+            }
+            shape.append(shape.length() == 0 ? "" : ", ").append(type).append(run > 1 ? "*" + run : "");
+            i += run;
+        }
+        return shape.toString();
+    }
+
+    private static final class Entry {
+
+        private final String shape;
+        private String bindShape;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long windowStart;
+        private volatile long lastSeen;
+        private volatile List<String> explain = List.of();
+
+        Entry(String shape) {
+            this.shape = shape;
+        }
+
+        // Returns true on the first execution of a window, which is the one to EXPLAIN
+        synchronized boolean add(long elapsedNanos, String bindShape, long now, long windowMillis) {
+            boolean newWindow = count == 0 || now - windowStart > windowMillis;
+            if (newWindow) {
+                count = 0;
+                totalNanos = 0;
+                maxNanos = 0;
+                windowStart = now;
+            }
+            this.bindShape = bindShape;
+            count++;
+            totalNanos += elapsedNanos;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+            lastSeen = now;
+            return newWindow;
+        }
+
+        synchronized SlowQueryResponse toResponse() {
+            return new SlowQueryResponse(shape, bindShape, count, maxNanos / 1e6, totalNanos / 1e6 / count,
+                    totalNanos / 1e6, Instant.ofEpochMilli(windowStart), Instant.ofEpochMilli(lastSeen), explain);
+        }
+    }
+}
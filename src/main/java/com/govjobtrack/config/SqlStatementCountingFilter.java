@@ -0,0 +1,63 @@
+package com.govjobtrack.config;
+
+import com.govjobtrack.exception.ErrorLogSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and DB time of each request, and warns (sampled) when a request exceeds its statement
+ * budget or repeats one statement shape often enough to suggest an N+1 load. Runs ahead of Spring Security, so
+ * user lookups made while authenticating are included.
+ */
+// Not marking with @Component here, it will be created as a bean in MetricsConfig
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountingFilter.class);
+
+    @Value("${app.sql.statements-per-request-warn-threshold:20}")
+    private int statementsWarnThreshold;
+
+    @Value("${app.sql.repeated-statement-warn-threshold:5}")
+    private int repeatedStatementWarnThreshold;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        if (stats.getStatementCount() > statementsWarnThreshold) {
+            errorLogSampler.warn(logger, "SqlStatementBudget", "{} {} issued {} SQL statements ({} ms in the database)",
+                    request.getMethod(), request.getRequestURI(), stats.getStatementCount(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos()));
+        }
+        if (stats.getMostRepeatedCount() >= repeatedStatementWarnThreshold) {
+            errorLogSampler.warn(logger, "RepeatedSqlStatement", "Possible N+1 on {} {}: statement ran {} times: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getMostRepeatedCount(), stats.getMostRepeatedShape());
+        } else if (logger.isDebugEnabled() && stats.getStatementCount() > 0) {
+            logger.debug("{} {} issued {} SQL statements ({} ms in the database)", request.getMethod(),
+                    request.getRequestURI(), stats.getStatementCount(), TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos()));
+        }
+    }
+}
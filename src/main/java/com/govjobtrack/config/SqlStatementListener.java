@@ -0,0 +1,47 @@
+package com.govjobtrack.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Reports every statement Hibernate prepares, and the time spent executing it, to the SqlStatementStats of the
+ * current thread. A no-op on threads that are not counting. Registered as both the statement inspector and an
+ * automatic session event listener (see MetricsConfig); Hibernate creates one instance per session for the latter.
+ */
+public class SqlStatementListener extends BaseSessionEventListener implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.onStatement(sql);
+        }
+        return sql; // Never rewrites the statement
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.onExecutionStart();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.onExecutionEnd();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,105 @@
+package com.govjobtrack.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements issued on the current thread between {@link #start()} and {@link #stop()}, normally one HTTP request
+ * (see SqlStatementCountingFilter). Fed by SqlStatementListener; not thread-safe, as each instance belongs to one
+ * thread. Statements are grouped by shape, i.e. the SQL with IN lists collapsed, so N+1 loads show up as one shape
+ * repeated N times.
+ */
+public final class SqlStatementStats {
+
+    // Set on the request so tests and later filters can read the stats of a finished request
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final SqlStatementStats previous;
+    private final Map<String, int[]> countsByShape = new HashMap<>();
+    private int statementCount;
+    private long dbTimeNanos;
+    private long executionStartNanos;
+    private String mostRepeatedShape;
+    private int mostRepeatedCount;
+
+    private SqlStatementStats(SqlStatementStats previous) {
+        this.previous = previous;
+    }
+
+    // Starts counting on this thread; nested calls count separately and restore the outer stats on stop()
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            if (stats.previous != null) {
+                CURRENT.set(stats.previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return stats;
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void onStatement(String sql) {
+        statementCount++;
+        String shape = shapeOf(sql);
+        int count = ++countsByShape.computeIfAbsent(shape, key -> new int[1])[0];
+        if (count > mostRepeatedCount) {
+            mostRepeatedCount = count;
+            mostRepeatedShape = shape;
+        }
+    }
+
+    void onExecutionStart() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    void onExecutionEnd() {
+        if (executionStartNanos != 0) {
+            dbTimeNanos += System.nanoTime() - executionStartNanos;
+            executionStartNanos = 0;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    // Null when no statement was issued
+    public String getMostRepeatedShape() {
+        return mostRepeatedShape;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+    public Map<String, Integer> getCountsByShape() {
+        Map<String, Integer> counts = new HashMap<>();
+        countsByShape.forEach((shape, count) -> counts.put(shape, count[0]));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    static String shapeOf(String sql) {
+        return sql.indexOf(',') < 0 ? sql : PARAMETER_LIST.matcher(sql).replaceAll("?");
+    }
+}
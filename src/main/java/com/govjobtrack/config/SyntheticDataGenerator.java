@@ -0,0 +1,362 @@
+package com.govjobtrack.config;
+
+import com.govjobtrack.model.Role;
+import com.govjobtrack.service.RoleRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a synthetic dataset for performance testing: start the application with the datagen profile
+ * (volumes in {@link SyntheticDataProperties}). Rows go in through multi-row INSERTs on plain JDBC, bypassing
+ * Hibernate, with explicit user and job ids so bookmarks can reference them without reading anything back.
+ * Every row draws from its own random stream seeded by (seed, table, row index), so the same seed and reference
+ * date produce the same rows whatever the batch size or thread count. Runs after DataInitializer has seeded the roles.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final long USERS_STREAM = 1;
+    private static final long JOBS_STREAM = 2;
+    private static final long BOOKMARKS_STREAM = 3;
+
+    // Ordered by size; a department's share of jobs is proportional to 1 / rank
+    private static final String[] DEPARTMENTS = {
+            "Railways", "Defence", "Education", "Health and Family Welfare", "Home Affairs", "Finance",
+            "Revenue", "Posts", "Agriculture", "Rural Development", "Public Works", "Police", "Judiciary",
+            "Telecommunications", "Energy", "Transport", "Water Resources", "Environment and Forests",
+            "Labour and Employment", "Urban Development", "Statistics", "External Affairs", "Culture",
+            "Tourism", "Space Research", "Atomic Energy", "Meteorology", "Archaeological Survey"};
+    private static final double[] DEPARTMENT_CUMULATIVE_WEIGHTS = cumulativeZipfWeights(DEPARTMENTS.length);
+
+    private static final String[] GRADES = {"Junior", "Senior", "Assistant", "Deputy", "Chief", "Principal", "Trainee"};
+    private static final String[] POSITIONS = {
+            "Clerk", "Engineer", "Accountant", "Inspector", "Teacher", "Nurse", "Technician", "Stenographer",
+            "Officer", "Auditor", "Scientist", "Draftsman", "Librarian", "Pharmacist", "Constable", "Analyst"};
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Ananya", "Arjun", "Diya", "Ishaan", "Kavya", "Meera", "Nikhil", "Priya", "Rahul",
+            "Riya", "Rohan", "Saanvi", "Sahil", "Sneha", "Tanvi", "Varun", "Vikram", "Zara", "Aditi"};
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Iyer", "Reddy", "Nair", "Patel", "Gupta", "Singh", "Khan", "Das",
+            "Menon", "Rao", "Joshi", "Mehta", "Kapoor", "Bose", "Pillai", "Chopra", "Kulkarni", "Naidu"};
+    private static final String[] WORDS = {
+            "candidates", "must", "hold", "a", "recognised", "degree", "in", "the", "relevant", "discipline",
+            "and", "have", "experience", "of", "administration", "applications", "will", "be", "screened",
+            "through", "written", "examination", "followed", "by", "interview", "document", "verification",
+            "posting", "may", "anywhere", "India", "pay", "level", "as", "per", "seventh", "commission",
+            "reservation", "rules", "apply", "age", "relaxation", "for", "eligible", "categories", "selected",
+            "probation", "period", "two", "years", "knowledge", "computer", "operations", "is", "desirable"};
+
+    @Autowired
+    private SyntheticDataProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    private LocalDate referenceDate;
+    private String passwordHash;
+    private long firstUserId;
+    private long firstJobId;
+    private long jobIdStride;
+
+    @Override
+    public void run(String... args) throws Exception {
+        referenceDate = properties.getReferenceDate().isEmpty() ? LocalDate.now() : LocalDate.parse(properties.getReferenceDate());
+        passwordHash = passwordEncoder.encode(properties.getPassword()); // Hashed once; every user shares it
+        firstUserId = nextId("users");
+        firstJobId = nextId("jobs");
+        jobIdStride = coprimeStride(properties.getJobs());
+        logger.info("Generating {} users, {} jobs and about {} bookmarks (seed {}, reference date {})",
+                properties.getUsers(), properties.getJobs(), properties.getBookmarks(), properties.getSeed(), referenceDate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            inChunks(executor, "users", properties.getUsers(), properties.getBatchSize(), this::insertUsers);
+            inChunks(executor, "jobs", properties.getJobs(), properties.getBatchSize(), this::insertJobs);
+            if (properties.getUsers() > 0 && properties.getJobs() > 0) {
+                // Sized so each chunk fills about one INSERT
+                int usersPerChunk = (int) Math.max(1, properties.getBatchSize() / Math.max(1, meanBookmarksPerUser()));
+                inChunks(executor, "bookmarks", properties.getUsers(), usersPerChunk, this::insertBookmarks);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        restartIdentities();
+        logger.info("Synthetic dataset loaded");
+
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private interface ChunkWriter {
+        long write(int from, int to); // Inserts the rows for indices [from, to), returns the row count
+    }
+
+    // Splits [0, count) into chunks run on the executor, logging progress about every tenth of the way
+    private void inChunks(ExecutorService executor, String table, int count, int chunkSize, ChunkWriter writer)
+            throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        AtomicLong chunksDone = new AtomicLong();
+        long chunks = (count + (long) chunkSize - 1) / chunkSize;
+        long logEvery = Math.max(1, chunks / 10);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = (int) Math.min(count, (long) from + chunkSize);
+            futures.add(executor.submit(() -> {
+                rows.addAndGet(writer.write(chunkFrom, chunkTo));
+                if (chunksDone.incrementAndGet() % logEvery == 0) {
+                    logger.info("{}: {} rows", table, rows.get());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(); // Rethrows the first failure
+        }
+        double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+        logger.info("{}: {} rows in {} s ({} rows/s)", table, rows.get(), String.format("%.1f", seconds),
+                Math.round(rows.get() / seconds));
+    }
+
+    private long insertUsers(int from, int to) {
+        List<Object[]> users = new ArrayList<>(to - from);
+        List<Object[]> userRoles = new ArrayList<>(to - from);
+        Integer userRoleId = roleRegistry.get(Role.ROLE_USER).getId();
+        Integer adminRoleId = roleRegistry.get(Role.ROLE_ADMIN).getId();
+        for (int index = from; index < to; index++) {
+            users.add(userRow(index));
+            userRoles.add(new Object[]{firstUserId + index, index < properties.getAdmins() ? adminRoleId : userRoleId});
+        }
+        insert("users", "id, first_name, last_name, email, password, created_at", users);
+        insert("user_roles", "user_id, role_name", userRoles);
+        return users.size();
+    }
+
+    private long insertJobs(int from, int to) {
+        List<Object[]> jobs = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            jobs.add(jobRow(index));
+        }
+        insert("jobs", "id, title, department, description, qualification, application_link, last_date_to_apply, "
+                + "posted_date, created_by_user_id", jobs);
+        return jobs.size();
+    }
+
+    private long insertBookmarks(int from, int to) {
+        List<Object[]> bookmarks = new ArrayList<>(properties.getBatchSize());
+        long inserted = 0;
+        for (int index = from; index < to; index++) {
+            bookmarks.addAll(bookmarkRows(index));
+            if (bookmarks.size() >= properties.getBatchSize()) {
+                inserted += insert("bookmarks", "user_id, job_id, bookmarked_date", bookmarks);
+                bookmarks.clear();
+            }
+        }
+        if (!bookmarks.isEmpty()) {
+            inserted += insert("bookmarks", "user_id, job_id, bookmarked_date", bookmarks);
+        }
+        return inserted;
+    }
+
+    // Columns: id, first_name, last_name, email, password, created_at
+    Object[] userRow(int index) {
+        SplittableRandom random = randomFor(USERS_STREAM, index);
+        long id = firstUserId + index;
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        // The id keeps emails unique, also across repeated runs against the same database
+        String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@datagen.example.com";
+        LocalDateTime createdAt = referenceDate.atStartOfDay().minusSeconds(random.nextLong(3 * 365 * 86_400L));
+        return new Object[]{id, firstName, lastName, email, passwordHash, Timestamp.valueOf(createdAt)};
+    }
+
+    // Columns: id, title, department, description, qualification, application_link, last_date_to_apply, posted_date,
+    // created_by_user_id. Posted over the last two years with 2-12 week application windows, so most jobs have closed.
+    Object[] jobRow(int index) {
+        SplittableRandom random = randomFor(JOBS_STREAM, index);
+        long id = firstJobId + index;
+        String title = pick(random, GRADES) + " " + pick(random, POSITIONS);
+        String department = DEPARTMENTS[weightedIndex(random, DEPARTMENT_CUMULATIVE_WEIGHTS)];
+        // Log-normal lengths, like real postings: mostly a page or two, with a long tail of full notifications
+        String description = text(random, logNormalLength(random, 1_500, 200, 16_000));
+        String qualification = text(random, logNormalLength(random, 300, 50, 4_000));
+        LocalDateTime postedDate = referenceDate.atStartOfDay().minusSeconds(random.nextLong(2 * 365 * 86_400L));
+        LocalDate lastDateToApply = postedDate.toLocalDate().plusDays(14 + random.nextInt(71));
+        long createdBy = firstUserId + random.nextInt(Math.max(1, Math.min(properties.getAdmins(), properties.getUsers())));
+        return new Object[]{id, title, department, description, qualification,
+                "https://recruitment.example.gov/jobs/" + id, Date.valueOf(lastDateToApply), Timestamp.valueOf(postedDate),
+                createdBy};
+    }
+
+    // Columns: user_id, job_id, bookmarked_date. Each user bookmarks a geometric number of distinct jobs.
+    List<Object[]> bookmarkRows(int userIndex) {
+        SplittableRandom random = randomFor(BOOKMARKS_STREAM, userIndex);
+        double mean = meanBookmarksPerUser();
+        int count = mean <= 0 ? 0 : (int) Math.min(properties.getJobs(),
+                Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - 1 / (mean + 1))));
+
+        long userId = firstUserId + userIndex;
+        long[] jobIds = new long[count];
+        int picked = 0;
+        for (int attempt = 0; picked < count && attempt < count * 4; attempt++) {
+            long jobId = firstJobId + popularJobIndex(random);
+            if (!contains(jobIds, picked, jobId)) {
+                jobIds[picked++] = jobId; // Distinct per user: bookmarks are unique on (user_id, job_id)
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(picked);
+        for (int i = 0; i < picked; i++) {
+            LocalDateTime bookmarkedDate = referenceDate.atStartOfDay().minusSeconds(random.nextLong(180 * 86_400L));
+            rows.add(new Object[]{userId, jobIds[i], Timestamp.valueOf(bookmarkedDate)});
+        }
+        return rows;
+    }
+
+    // Power-law popularity rank, scattered over the job ids so the popular jobs are not simply the oldest
+    private long popularJobIndex(SplittableRandom random) {
+        int jobs = properties.getJobs();
+        long rank = Math.min(jobs - 1, (long) (jobs * Math.pow(random.nextDouble(), properties.getPopularitySkew())));
+        return rank * jobIdStride % jobs;
+    }
+
+    private double meanBookmarksPerUser() {
+        return properties.getUsers() == 0 ? 0 : (double) properties.getBookmarks() / properties.getUsers();
+    }
+
+    private int insert(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int columnCount = rows.get(0).length;
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (").append(columns).append(") VALUES ");
+        Object[] args = new Object[rows.size() * columnCount];
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(placeholders);
+            System.arraycopy(rows.get(i), 0, args, i * columnCount, columnCount);
+        }
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicitly inserted ids by itself; H2 identity columns have to be told
+    private void restartIdentities() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            for (String table : new String[]{"users", "jobs"}) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+            }
+        }
+    }
+
+    private SplittableRandom randomFor(long stream, long index) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        boolean sentenceStart = true;
+        while (text.length() < length) {
+            String word = pick(random, WORDS);
+            text.append(sentenceStart ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            sentenceStart = random.nextInt(12) == 0;
+            text.append(sentenceStart ? ". " : " ");
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static int logNormalLength(SplittableRandom random, int median, int min, int max) {
+        // Box-Muller standard normal, sigma 0.6
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return (int) Math.max(min, Math.min(max, Math.round(median * Math.exp(0.6 * gaussian))));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weightedIndex(SplittableRandom random, double[] cumulativeWeights) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static double[] cumulativeZipfWeights(int count) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            total += 1.0 / rank;
+            cumulative[rank - 1] = total;
+        }
+        return cumulative;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Multiplying by a stride coprime with the job count permutes [0, jobs)
+    private static long coprimeStride(int jobs) {
+        long stride = (long) (jobs * 0.6180339887) | 1;
+        while (gcd(stride, jobs) != 1) {
+            stride += 2;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,38 @@
+package com.govjobtrack.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volumes and shape of the synthetic dataset, bound from app.datagen.* (only with the datagen profile active).
+ * The defaults load in a minute or two; production-like volumes are set on the command line, e.g.
+ * --app.datagen.users=5000000 --app.datagen.jobs=1000000 --app.datagen.bookmarks=50000000.
+ */
+@Component
+@Profile("datagen")
+@ConfigurationProperties(prefix = "app.datagen")
+@Data
+public class SyntheticDataProperties {
+
+    private long seed = 42;
+
+    private int users = 100_000;
+    private int admins = 20;           // The first users are admins, and post every job
+    private int jobs = 20_000;
+    private long bookmarks = 1_000_000; // Target total; per-user counts are geometric, so the result lands close to it
+
+    // A bookmark picks the job of popularity rank jobs * u^skew (u uniform in [0, 1)): 1 is uniform, higher values
+    // concentrate bookmarks on fewer jobs (3 gives the top 1% of jobs about a fifth of all bookmarks)
+    private double popularitySkew = 3.0;
+
+    private int batchSize = 1_000; // Rows per multi-row INSERT
+    private int threads = 4;       // Concurrent INSERT statements
+
+    private String password = "password"; // Every generated user signs in with this
+
+    private String referenceDate = ""; // ISO date the generated dates are relative to; empty means today
+
+    private boolean exitWhenDone = true;
+}
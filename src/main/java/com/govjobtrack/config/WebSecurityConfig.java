@@ -2,10 +2,16 @@ package com.govjobtrack.config;
 
 import com.govjobtrack.security.AuthEntryPointJwt;
 import com.govjobtrack.security.AuthTokenFilter;
+import com.govjobtrack.security.BoundedPasswordEncoder;
+import com.govjobtrack.security.RateLimitFilter;
 import com.govjobtrack.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,10 +20,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 // import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter; // Deprecated in SB 2.7+
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -31,20 +40,62 @@ import org.springframework.web.filter.CorsFilter;
         prePostEnabled = true) // Enables @PreAuthorize, @PostAuthorize
 public class WebSecurityConfig { // No need to extend WebSecurityConfigurerAdapter in Spring Boot 2.7+
 
+    private static final String SCRAPE_ROLE = "METRICS_SCRAPE";
+
     @Autowired
     UserDetailsServiceImpl userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password-hashing.threads:0}") // 0 = one per CPU core
+    private int passwordHashingThreads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${app.security.password-hashing.max-wait-ms:2000}")
+    private long passwordHashingMaxWaitMs;
+
+    @Value("${app.metrics.scrape.username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${app.metrics.scrape.password:}")
+    private String scrapePassword;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
+    // Both filters only run inside the security chains below; without these, Boot would also register them with
+    // the servlet container and run them for requests whose chain deliberately leaves them out
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptStrength, passwordHashingThreads,
+                passwordHashingQueueCapacity, passwordHashingMaxWaitMs);
     }
 
     @Bean
@@ -55,7 +106,48 @@ public class WebSecurityConfig { // No need to extend WebSecurityConfigurerAdapt
     // The UserDetailsService and PasswordEncoder beans will be automatically used by the AuthenticationManager.
     // No need for explicit AuthenticationManagerBuilder configuration here if using the above bean.
 
+    // Public job reads: anonymous, with no JWT parsing or user lookup. Successful responses carry the Cache-Control set
+    // by JobController so a reverse proxy or CDN can serve them; errors keep Spring Security's no-store default.
+    // The bodies are PublicJobResponses, which say nothing about the admin who posted a job. Checked before the main chain.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicJobsFilterChain(HttpSecurity http) throws Exception {
+        http.requestMatcher(new AntPathRequestMatcher("/api/jobs/**", HttpMethod.GET.name()))
+                .cors().and().csrf().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+                .requestCache().disable()
+                .authorizeRequests(auth -> auth.anyRequest().permitAll());
+
+        http.addFilterBefore(rateLimitFilter(), AnonymousAuthenticationFilter.class); // app.rate-limit.rules apply here too
+
+        return http.build();
+    }
+
+    // Prometheus scrapes with HTTP Basic as app.metrics.scrape.username; the metrics describe traffic and internals,
+    // so with no app.metrics.scrape.password set nobody can read them. Applies on a separate management port too.
+    @Bean
+    @Order(2)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (!scrapePassword.isBlank()) {
+            scrapeUsers.createUser(User.withUsername(scrapeUsername)
+                    .password(passwordEncoder().encode(scrapePassword))
+                    .roles(SCRAPE_ROLE)
+                    .build());
+        }
+        http.requestMatcher(new AntPathRequestMatcher("/actuator/prometheus"))
+                .csrf().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+                .requestCache().disable()
+                .userDetailsService(scrapeUsers)
+                .httpBasic().and()
+                .authorizeRequests(auth -> auth.anyRequest().hasRole(SCRAPE_ROLE));
+
+        return http.build();
+    }
+
     @Bean
+    @Order(3)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         // Configure AuthenticationManagerBuilder
         AuthenticationManagerBuilder authenticationManagerBuilder = http.getSharedObject(AuthenticationManagerBuilder.class);
@@ -66,12 +158,15 @@ public class WebSecurityConfig { // No need to extend WebSecurityConfigurerAdapt
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .authorizeRequests(auth -> auth
                         .antMatchers("/api/auth/**").permitAll()
+                        .antMatchers(HttpMethod.GET, "/api/bookmarks/calendar.ics").permitAll() // Authorised by its signed token
+                        .antMatchers("/actuator/health").permitAll() // Load balancer checks; /actuator/prometheus has its own chain
                         .antMatchers("/api/test/**").permitAll() // Example: if you have public test endpoints
                         .antMatchers("/v2/api-docs", "/configuration/ui", "/swagger-resources/**", "/configuration/security", "/swagger-ui.html", "/webjars/**", "/swagger-ui/**").permitAll() // Swagger UI
                         .anyRequest().authenticated()
                 );
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter(), AuthTokenFilter.class); // Reject floods before any token or password work
 
         return http.build();
     }
@@ -0,0 +1,35 @@
+package com.govjobtrack.controller;
+
+import com.govjobtrack.config.SlowQueryLog;
+import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.payload.response.SlowQueryResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private static final int MAX_SLOW_QUERIES = 100;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    // Slowest SQL shapes seen within the current window (app.sql.slow-query.*), with their EXPLAIN output
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryResponse>> getSlowQueries(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowQueryLog.top(Math.max(1, Math.min(limit, MAX_SLOW_QUERIES))));
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<MessageResponse> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.ok(new MessageResponse("Slow query log cleared."));
+    }
+}
@@ -1,9 +1,12 @@
 package com.govjobtrack.controller;
 
 import com.govjobtrack.payload.request.LoginRequest;
+import com.govjobtrack.payload.request.LogoutRequest;
 import com.govjobtrack.payload.request.SignupRequest;
+import com.govjobtrack.payload.request.TokenRefreshRequest;
 import com.govjobtrack.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,4 +29,17 @@ public class AuthController {
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         return authService.registerUser(signUpRequest);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        return authService.refreshToken(refreshRequest);
+    }
+
+    // Revokes the bearer access token and, if given, the refresh token's family
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) LogoutRequest logoutRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        return authService.logout(accessToken, logoutRequest);
+    }
 }
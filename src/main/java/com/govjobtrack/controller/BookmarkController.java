@@ -1,27 +1,53 @@
 package com.govjobtrack.controller;
 
+import com.govjobtrack.payload.request.BookmarkSyncRequest;
 import com.govjobtrack.payload.response.BookmarkResponse;
+import com.govjobtrack.payload.response.BookmarkSyncResponse;
+import com.govjobtrack.payload.response.CalendarFeedResponse;
 import com.govjobtrack.payload.response.MessageResponse;
 import com.govjobtrack.security.services.UserDetailsImpl;
+import com.govjobtrack.service.BookmarkCalendarFeed;
+import com.govjobtrack.service.BookmarkCalendarService;
 import com.govjobtrack.service.BookmarkService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
+@Validated // Constraints on query parameters, e.g. the contains job ids
 @RequestMapping("/api/bookmarks")
 public class BookmarkController {
 
+    // One listing page worth of cards, with headroom
+    private static final int MAX_CONTAINS_JOB_IDS = 200;
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     @Autowired
     private BookmarkService bookmarkService;
 
+    @Autowired
+    private BookmarkCalendarService bookmarkCalendarService;
+
     @PostMapping("/job/{jobId}")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<BookmarkResponse> addBookmark(@PathVariable Long jobId,
@@ -46,4 +72,56 @@ public class BookmarkController {
         Page<BookmarkResponse> bookmarksPage = bookmarkService.getUserBookmarks(currentUser, pageable);
         return ResponseEntity.ok(bookmarksPage);
     }
+
+    @GetMapping("/contains")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> getBookmarkStatus(@RequestParam List<@NotNull Long> jobIds, // jobIds=1,,2 binds a null
+                                               @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        if (jobIds.size() > MAX_CONTAINS_JOB_IDS) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: At most " + MAX_CONTAINS_JOB_IDS + " job ids are allowed per request."));
+        }
+        Map<Long, Boolean> bookmarkStatus = bookmarkService.getBookmarkStatus(jobIds, currentUser);
+        return ResponseEntity.ok(bookmarkStatus);
+    }
+
+    @PostMapping("/sync")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BookmarkSyncResponse> syncBookmarks(@Valid @RequestBody BookmarkSyncRequest syncRequest,
+                                                              @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        BookmarkSyncResponse syncResponse = bookmarkService.syncBookmarks(syncRequest, currentUser);
+        return ResponseEntity.ok(syncResponse);
+    }
+
+    @GetMapping("/calendar/token")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CalendarFeedResponse> getCalendarFeedToken(@AuthenticationPrincipal UserDetailsImpl currentUser) {
+        String token = bookmarkCalendarService.createFeedToken(currentUser.getId());
+        String feedUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/bookmarks/calendar.ics")
+                .queryParam("token", token)
+                .toUriString();
+        return ResponseEntity.ok(new CalendarFeedResponse(token, feedUrl));
+    }
+
+    // Public endpoint (see WebSecurityConfig): the signed token in the URL identifies the user
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<byte[]> getCalendarFeed(@RequestParam String token,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Long userId = bookmarkCalendarService.resolveFeedToken(token);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        BookmarkCalendarFeed feed = bookmarkCalendarService.getFeed(userId);
+        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate();
+        if (feed.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(feed.getEtag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(feed.getEtag())
+                .cacheControl(cacheControl)
+                .body(feed.getContent());
+    }
 }
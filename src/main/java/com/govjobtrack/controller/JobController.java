@@ -1,30 +1,54 @@
 package com.govjobtrack.controller;
 
+import com.govjobtrack.payload.request.JobBatchRequest;
 import com.govjobtrack.payload.request.JobRequest;
+import com.govjobtrack.payload.response.AlsoBookmarkedJobResponse;
+import com.govjobtrack.payload.response.JobBatchResponse;
 import com.govjobtrack.payload.response.JobResponse;
 import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
 import com.govjobtrack.security.services.UserDetailsImpl;
 import com.govjobtrack.service.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
+@Validated // Constraints on query parameters, e.g. the batch ids
 @RequestMapping("/api/jobs")
 public class JobController {
 
+    // Query-string ids are capped lower than the POST body to keep URLs within common proxy limits
+    private static final int MAX_BATCH_IDS_IN_QUERY = 100;
+
+    private static final int MAX_ALSO_BOOKMARKED = 50;
+
     @Autowired
     private JobService jobService;
 
+    // Public GETs are identical for every caller, so shared caches may keep them briefly and serve stale copies
+    // while revalidating in the background
+    @Value("${app.jobs.public-cache.max-age-seconds:60}")
+    private long publicMaxAgeSeconds;
+
+    @Value("${app.jobs.public-cache.stale-while-revalidate-seconds:300}")
+    private long publicStaleWhileRevalidateSeconds;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<JobResponse> createJob(@Valid @RequestBody JobRequest jobRequest,
@@ -33,18 +57,45 @@ public class JobController {
         return new ResponseEntity<>(jobResponse, HttpStatus.CREATED);
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<?> getJobsByIds(@RequestParam List<@NotNull Long> ids) { // ids=1,,2 binds a null
+        if (ids.size() > MAX_BATCH_IDS_IN_QUERY) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse("Error: At most " + MAX_BATCH_IDS_IN_QUERY + " ids are allowed per GET batch, use POST for larger sets."));
+        }
+        JobBatchResponse batchResponse = jobService.getJobsByIds(ids);
+        return ResponseEntity.ok().cacheControl(publicCacheControl()).body(batchResponse);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<JobBatchResponse> getJobsByIds(@Valid @RequestBody JobBatchRequest batchRequest) {
+        JobBatchResponse batchResponse = jobService.getJobsByIds(batchRequest.getIds());
+        return ResponseEntity.ok(batchResponse);
+    }
+
     @GetMapping("/{jobId}")
-    public ResponseEntity<JobResponse> getJobById(@PathVariable Long jobId) {
-        JobResponse jobResponse = jobService.getJobById(jobId);
-        return ResponseEntity.ok(jobResponse);
+    public ResponseEntity<PublicJobResponse> getJobById(@PathVariable Long jobId) {
+        PublicJobResponse jobResponse = jobService.getJobById(jobId);
+        return ResponseEntity.ok().cacheControl(publicCacheControl()).body(jobResponse);
+    }
+
+    @GetMapping("/{jobId}/also-bookmarked")
+    public ResponseEntity<List<AlsoBookmarkedJobResponse>> getAlsoBookmarkedJobs(@PathVariable Long jobId,
+                                                                                 @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_ALSO_BOOKMARKED));
+        return ResponseEntity.ok().cacheControl(publicCacheControl()).body(jobService.getAlsoBookmarkedJobs(jobId, boundedLimit));
     }
 
     @GetMapping
-    public ResponseEntity<Page<JobResponse>> getAllJobs(@PageableDefault(size = 10, sort = "postedDate") Pageable pageable) {
+    public ResponseEntity<Page<PublicJobResponse>> getAllJobs(@RequestParam(required = false) String department,
+                                                              @PageableDefault(size = 10, sort = "postedDate") Pageable pageable) {
         // Example of @PageableDefault to set default size and sort.
         // Client can override by passing ?page=0&size=5&sort=title,asc
-        Page<JobResponse> jobsPage = jobService.getAllJobs(pageable);
-        return ResponseEntity.ok(jobsPage);
+        Page<PublicJobResponse> jobsPage = department == null
+                ? jobService.getAllJobs(pageable)
+                : jobService.getJobsByDepartment(department, pageable);
+        return ResponseEntity.ok().cacheControl(publicCacheControl()).body(jobsPage);
     }
 
     @PutMapping("/{jobId}")
@@ -63,4 +114,10 @@ public class JobController {
         MessageResponse messageResponse = jobService.deleteJob(jobId, currentUser);
         return ResponseEntity.ok(messageResponse);
     }
+
+    private CacheControl publicCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(publicMaxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(publicStaleWhileRevalidateSeconds));
+    }
 }
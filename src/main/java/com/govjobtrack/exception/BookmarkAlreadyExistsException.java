@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.CONFLICT) // 409 Conflict
-public class BookmarkAlreadyExistsException extends RuntimeException {
+public class BookmarkAlreadyExistsException extends StacklessException {
 
     private static final long serialVersionUID = 1L;
 
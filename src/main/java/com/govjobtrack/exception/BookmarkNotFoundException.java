@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class BookmarkNotFoundException extends RuntimeException {
+public class BookmarkNotFoundException extends StacklessException {
 
     private static final long serialVersionUID = 1L;
 
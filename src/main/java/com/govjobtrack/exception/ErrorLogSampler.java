@@ -0,0 +1,86 @@
+package com.govjobtrack.exception;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts expected errors per category and logs at most one line per category per interval, noting how many
+ * were suppressed since. An error storm then costs a counter increment per request instead of a log line.
+ * The per-category totals are also published as the {@code govjobtrack.errors} counter.
+ */
+@Component
+public class ErrorLogSampler {
+
+    @Value("${app.errors.log-interval-ms:10000}")
+    private long logIntervalMs = 10000;
+
+    public static final String METRIC = "govjobtrack.errors";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Category> categories = new ConcurrentHashMap<>();
+
+    public void warn(Logger logger, String category, String format, Object... args) {
+        long suppressed = sample(category);
+        if (suppressed == 0) {
+            logger.warn(format, args);
+        } else if (suppressed > 0) {
+            Object[] withSuppressed = new Object[args.length + 1];
+            System.arraycopy(args, 0, withSuppressed, 0, args.length);
+            withSuppressed[args.length] = suppressed;
+            logger.warn(format + " ({} similar suppressed)", withSuppressed);
+        }
+    }
+
+    /**
+     * Counts one occurrence. Returns -1 if it should not be logged, otherwise the number of occurrences suppressed
+     * since the category was last logged.
+     */
+    public long sample(String category) {
+        Category counters = categories.computeIfAbsent(category, this::newCategory);
+        counters.total.increment();
+        long now = System.nanoTime();
+        long nextLogAt = counters.nextLogAtNanos.get();
+        if (now - nextLogAt >= 0
+                && counters.nextLogAtNanos.compareAndSet(nextLogAt, now + TimeUnit.MILLISECONDS.toNanos(logIntervalMs))) {
+            return counters.suppressed.getAndSet(0);
+        }
+        counters.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    // Occurrences per category since startup
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new TreeMap<>();
+        categories.forEach((category, counters) -> counts.put(category, counters.total.sum()));
+        return counts;
+    }
+
+    private Category newCategory(String category) {
+        Category counters = new Category();
+        if (meterRegistry != null) {
+            FunctionCounter.builder(METRIC, counters.total, LongAdder::sum)
+                    .tag("category", category)
+                    .register(meterRegistry);
+        }
+        return counters;
+    }
+
+    private static final class Category {
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLong nextLogAtNanos = new AtomicLong(System.nanoTime());
+    }
+}
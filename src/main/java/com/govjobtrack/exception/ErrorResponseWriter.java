@@ -0,0 +1,61 @@
+package com.govjobtrack.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the {status, error, message, path} body used outside MVC (entry point, filters). Everything but the path
+ * is serialized once per distinct status and message and reused, so a 401 or 429 is a couple of byte copies.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    // Distinct messages are few (fixed texts); the cap only guards against callers passing variable ones
+    private static final int MAX_CACHED_PREFIXES = 256;
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    public void write(HttpServletResponse response, int status, String error, String message, String path)
+            throws IOException {
+        byte[] prefix = prefix(status, error, message);
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path == null ? "" : path);
+
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(prefix.length + quotedPath.length + SUFFIX.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(prefix);
+        out.write(quotedPath);
+        out.write(SUFFIX);
+    }
+
+    private byte[] prefix(int status, String error, String message) throws JsonProcessingException {
+        String key = status + "\n" + message;
+        byte[] prefix = prefixes.get(key);
+        if (prefix == null) {
+            prefix = ("{\"status\":" + status
+                    + ",\"error\":" + objectMapper.writeValueAsString(error)
+                    + ",\"message\":" + objectMapper.writeValueAsString(message)
+                    + ",\"path\":\"").getBytes(StandardCharsets.UTF_8);
+            if (prefixes.size() < MAX_CACHED_PREFIXES) {
+                prefixes.putIfAbsent(key, prefix);
+            }
+        }
+        return prefix;
+    }
+}
@@ -3,15 +3,23 @@ package com.govjobtrack.exception;
 import com.govjobtrack.payload.response.MessageResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolationException;
+import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,25 +29,92 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Expected errors are logged sampled; only unexpected ones below get a line and stack trace each
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
+
     // Handle specific exceptions
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<?> resourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        logger.error("ResourceNotFoundException: {}", ex.getMessage());
+        errorLogSampler.warn(logger, "ResourceNotFoundException", "ResourceNotFoundException: {}", ex.getMessage());
         ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BookmarkNotFoundException.class)
+    public ResponseEntity<?> bookmarkNotFoundException(BookmarkNotFoundException ex, WebRequest request) {
+        errorLogSampler.warn(logger, "BookmarkNotFoundException", "BookmarkNotFoundException: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(BookmarkAlreadyExistsException.class)
+    public ResponseEntity<?> bookmarkAlreadyExistsException(BookmarkAlreadyExistsException ex, WebRequest request) {
+        errorLogSampler.warn(logger, "BookmarkAlreadyExistsException", "BookmarkAlreadyExistsException: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<?> accessDeniedException(AccessDeniedException ex, WebRequest request) {
-        logger.warn("AccessDeniedException: {}", ex.getMessage());
+        errorLogSampler.warn(logger, "AccessDeniedException", "AccessDeniedException: {}", ex.getMessage());
         ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
         return new ResponseEntity<>(errorDetails, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> passwordHashingBusyException(PasswordHashingBusyException ex, WebRequest request) {
+        errorLogSampler.warn(logger, "PasswordHashingBusyException", "PasswordHashingBusyException: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
+    // Same response as RateLimitFilter's rejections
+    @ExceptionHandler(TooManyRequestsException.class)
+    public void tooManyRequestsException(TooManyRequestsException ex, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        errorLogSampler.warn(logger, "TooManyRequestsException", "TooManyRequestsException: {}", ex.getMessage());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        errorResponseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, please retry later", request.getServletPath());
+    }
+
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<?> tokenRefreshException(TokenRefreshException ex, WebRequest request) {
+        errorLogSampler.warn(logger, "TokenRefreshException", "TokenRefreshException: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.UNAUTHORIZED);
+    }
+
+    // Failed sign-ins: same body and status as AuthEntryPointJwt gives unauthenticated requests
+    @ExceptionHandler(AuthenticationException.class)
+    public void authenticationException(AuthenticationException ex, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        errorLogSampler.warn(logger, "AuthenticationException", "AuthenticationException: {}", ex.getMessage());
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", ex.getMessage(),
+                request.getServletPath());
+    }
+
+    // The user lookup behind a sign-in failed (e.g. the database is down): not the caller's fault, so logged in full
+    // and answered like other overload errors instead of a sampled 401
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public void internalAuthenticationServiceException(InternalAuthenticationServiceException ex, HttpServletRequest request,
+                                                       HttpServletResponse response) throws IOException {
+        logger.error("InternalAuthenticationServiceException: {}", ex.getMessage(), ex);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        errorResponseWriter.write(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service Unavailable",
+                "Sign-in is temporarily unavailable", request.getServletPath());
+    }
+
     // Handle validation errors for @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
-        logger.warn("MethodArgumentNotValidException: {}", ex.getMessage());
+        errorLogSampler.warn(logger, "MethodArgumentNotValidException", "MethodArgumentNotValidException: {}", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -51,6 +126,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    // Handle validation errors for @Validated controller parameters
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<?> handleConstraintViolations(ConstraintViolationException ex, WebRequest request) {
+        errorLogSampler.warn(logger, "ConstraintViolationException", "ConstraintViolationException: {}", ex.getMessage());
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        ValidationErrorDetails errorDetails = new ValidationErrorDetails(new Date(), "Validation Failed", request.getDescription(false), errors);
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     // Handle global exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> globalExceptionHandler(Exception ex, WebRequest request) {
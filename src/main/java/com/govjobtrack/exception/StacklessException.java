@@ -0,0 +1,15 @@
+package com.govjobtrack.exception;
+
+/**
+ * Base for expected, client-caused failures (not found, conflict, busy...). They are always mapped to a response
+ * by GlobalExceptionHandler and never debugged from a stack trace, so none is captured: under scraping traffic
+ * filling in the trace would cost more than the request itself.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.govjobtrack.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED) // 401 Unauthorized
+public class TokenRefreshException extends StacklessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
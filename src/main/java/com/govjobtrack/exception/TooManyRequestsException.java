@@ -0,0 +1,19 @@
+package com.govjobtrack.exception;
+
+import java.util.concurrent.TimeUnit;
+
+public class TooManyRequestsException extends StacklessException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long waitNanos) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
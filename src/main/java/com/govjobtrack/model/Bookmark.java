@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookmarks", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "job_id"}) // A user can bookmark a job only once
+    @UniqueConstraint(name = Bookmark.UNIQUE_USER_JOB, columnNames = {"user_id", "job_id"}) // A user can bookmark a job only once
+}, indexes = { // Created by db/migration/V4__add_access_path_indexes.sql
+    @Index(name = "idx_bookmarks_user_bookmarked_date", columnList = "user_id, bookmarkedDate"),
+    @Index(name = "idx_bookmarks_job_user", columnList = "job_id, user_id")
 })
 @Data
 @NoArgsConstructor
@@ -19,16 +22,20 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Bookmark {
 
+    // Constraint names are referenced when translating insert failures (see BookmarkServiceImpl)
+    public static final String UNIQUE_USER_JOB = "uk_bookmarks_user_job";
+    public static final String FK_JOB = "fk_bookmarks_job";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_bookmarks_user"))
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "job_id", nullable = false)
+    @JoinColumn(name = "job_id", nullable = false, foreignKey = @ForeignKey(name = Bookmark.FK_JOB))
     private Job job;
 
     @CreatedDate
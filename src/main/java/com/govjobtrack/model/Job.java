@@ -13,7 +13,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = { // Created by db/migration/V4__add_access_path_indexes.sql
+        @Index(name = "idx_jobs_posted_date", columnList = "postedDate"),
+        @Index(name = "idx_jobs_department_posted_date", columnList = "department, postedDate"),
+        @Index(name = "idx_jobs_last_date_to_apply", columnList = "lastDateToApply, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,6 +54,6 @@ public class Job {
     private LocalDateTime postedDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "created_by_user_id", nullable = false)
+    @JoinColumn(name = "created_by_user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_jobs_created_by"))
     private User createdBy; // User who posted the job (Admin)
 }
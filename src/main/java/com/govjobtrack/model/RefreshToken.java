@@ -0,0 +1,62 @@
+package com.govjobtrack.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * One refresh token, stored as the SHA-256 of its value. Every refresh marks the presented token used and issues a
+ * successor in the same family; presenting a rotated token again means it leaked, so the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "tokenHash")
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_refresh_tokens_user"))
+    @OnDelete(action = OnDeleteAction.CASCADE) // Tokens go with their user
+    private User user;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant usedAt; // Set when rotated or revoked; a used token is never accepted again
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RevocationReason revocationReason; // Set together with usedAt
+
+    public RefreshToken(String tokenHash, User user, String familyId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,40 @@
+package com.govjobtrack.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Progress of one daily reminder run, so a restart resumes from the last fully processed keyset position
+@Entity
+@Table(name = "reminder_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCheckpoint {
+
+    @Id
+    private LocalDate runDate;
+
+    // Keyset position (job id, bookmark id) of the last reminder handed to the sender
+    @Column(nullable = false)
+    private Long lastJobId;
+
+    @Column(nullable = false)
+    private Long lastBookmarkId;
+
+    private long remindersSent;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+
+    public ReminderCheckpoint(LocalDate runDate) {
+        this.runDate = runDate;
+        this.lastJobId = 0L;
+        this.lastBookmarkId = 0L;
+    }
+}
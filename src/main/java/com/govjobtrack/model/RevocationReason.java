@@ -0,0 +1,8 @@
+package com.govjobtrack.model;
+
+// Why a refresh token stopped being usable; only a ROTATED token presented again counts as reuse
+public enum RevocationReason {
+    ROTATED,
+    LOGOUT,
+    REUSE
+}
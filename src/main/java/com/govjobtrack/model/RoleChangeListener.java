@@ -0,0 +1,23 @@
+package com.govjobtrack.model;
+
+import com.govjobtrack.service.RoleRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Keeps RoleRegistry in step with the roles table; the registry may be absent in JPA-only test slices
+public class RoleChangeListener {
+
+    @Autowired
+    private ObjectProvider<RoleRegistry> roleRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoleChanged(RoleEntity role) {
+        roleRegistry.ifAvailable(RoleRegistry::invalidate);
+    }
+}
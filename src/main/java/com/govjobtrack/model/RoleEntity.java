@@ -7,10 +7,13 @@ import lombok.AllArgsConstructor;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_roles_name", columnNames = "name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(RoleChangeListener.class)
 public class RoleEntity {
 
     @Id
@@ -18,7 +21,7 @@ public class RoleEntity {
     private Integer id;
 
     @Enumerated(EnumType.STRING)
-    @Column(length = 20, unique = true, nullable = false)
+    @Column(length = 20, nullable = false)
     private Role name;
 
     public RoleEntity(Role name) {
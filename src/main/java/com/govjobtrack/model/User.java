@@ -16,14 +16,17 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "email")
+        @UniqueConstraint(name = User.UNIQUE_EMAIL, columnNames = "email")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserCacheInvalidationListener.class})
 public class User {
 
+    // Referenced when translating a duplicate signup (see AuthServiceImpl)
+    public static final String UNIQUE_EMAIL = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -48,7 +51,9 @@ public class User {
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "role_name"))
+            inverseJoinColumns = @JoinColumn(name = "role_name"),
+            foreignKey = @ForeignKey(name = "fk_user_roles_user"),
+            inverseForeignKey = @ForeignKey(name = "fk_user_roles_role"))
     private Set<RoleEntity> roles = new HashSet<>(); // Changed to RoleEntity
 
     @CreatedDate
@@ -0,0 +1,24 @@
+package com.govjobtrack.model;
+
+import com.govjobtrack.security.services.UserDetailsServiceImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Evicts cached user details whenever a user row changes (password, roles, names) or goes away.
+// Created by Hibernate through Spring's bean container; the service may be absent in JPA-only test slices.
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    private ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    @PostPersist // A new account may reuse the email of a deleted one
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userDetailsService.ifAvailable(service -> service.evictUser(user.getEmail()));
+    }
+}
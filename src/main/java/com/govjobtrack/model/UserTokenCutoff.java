@@ -0,0 +1,25 @@
+package com.govjobtrack.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// Access tokens of this user issued before cutoffAt are rejected; kept until those tokens would have expired anyway
+@Entity
+@Table(name = "user_token_cutoffs", indexes = {
+        @Index(name = "idx_user_token_cutoffs_cutoff_at", columnList = "cutoffAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenCutoff {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant cutoffAt;
+}
@@ -0,0 +1,21 @@
+package com.govjobtrack.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One reminder per bookmark; mapped from the repository's DeadlineReminderRow projection, no entities are loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineReminder {
+    private Long bookmarkId;
+    private Long jobId;
+    private String jobTitle;
+    private LocalDate lastDateToApply;
+    private Long userId;
+    private String userEmail;
+    private String userFirstName;
+}
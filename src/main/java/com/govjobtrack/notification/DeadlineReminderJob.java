@@ -0,0 +1,187 @@
+package com.govjobtrack.notification;
+
+import com.govjobtrack.model.ReminderCheckpoint;
+import com.govjobtrack.repository.BookmarkRepository;
+import com.govjobtrack.repository.BookmarkRepository.DeadlineReminderRow;
+import com.govjobtrack.repository.ReminderCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Daily job that reminds users about bookmarked jobs whose last date to apply falls within the next few days.
+ * Bookmarks are read in keyset-paged chunks ordered by job, and each wave of chunks is handed to the
+ * {@link NotificationSender} in parallel on a bounded pool. The keyset position is checkpointed after every
+ * completed wave, so a restart resumes the day's run instead of rescanning it (delivery is at-least-once for
+ * the wave in flight when the process stopped).
+ */
+@Component
+public class DeadlineReminderJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineReminderJob.class);
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private ReminderCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private NotificationSender notificationSender;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${app.reminders.days-before:3}")
+    private int daysBefore;
+
+    @Value("${app.reminders.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.reminders.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // One wave is at most `parallelism` chunks, so the queue never fills; CallerRuns is only a safety net
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "deadline-reminder-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${app.reminders.cron:0 0 7 * * *}")
+    public void sendDailyReminders() {
+        run(LocalDate.now());
+    }
+
+    // Pick up a run that was interrupted by a shutdown instead of waiting for tomorrow's schedule
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        LocalDate today = LocalDate.now();
+        checkpointRepository.findById(today)
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .ifPresent(checkpoint -> {
+                    logger.info("Resuming deadline reminders for {} after job ID: {}", today, checkpoint.getLastJobId());
+                    taskScheduler.schedule(() -> run(today), Instant.now());
+                });
+    }
+
+    /**
+     * Sends the reminders for one run date, continuing from its checkpoint if there is one.
+     * Returns the number of reminders handed to the sender by this invocation.
+     */
+    public long run(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Deadline reminder run already in progress, skipping run for {}", runDate);
+            return 0;
+        }
+        try {
+            ReminderCheckpoint checkpoint = checkpointRepository.findById(runDate)
+                    .orElseGet(() -> new ReminderCheckpoint(runDate));
+            if (checkpoint.isCompleted()) {
+                logger.info("Deadline reminders for {} already sent", runDate);
+                return 0;
+            }
+
+            LocalDate closesBy = runDate.plusDays(daysBefore);
+            long sent = 0;
+            boolean exhausted = false;
+            while (!exhausted) {
+                // Read the next wave sequentially; keyset paging keeps every chunk query an index range scan
+                List<List<DeadlineReminder>> wave = new ArrayList<>(parallelism);
+                Long afterJobId = checkpoint.getLastJobId();
+                Long afterBookmarkId = checkpoint.getLastBookmarkId();
+                while (wave.size() < parallelism) {
+                    List<DeadlineReminderRow> rows = bookmarkRepository.findDeadlineRemindersAfter(
+                            runDate, closesBy, afterJobId, afterBookmarkId, PageRequest.of(0, chunkSize));
+                    if (!rows.isEmpty()) {
+                        wave.add(rows.stream().map(DeadlineReminderJob::toReminder).collect(Collectors.toList()));
+                        DeadlineReminderRow last = rows.get(rows.size() - 1);
+                        afterJobId = last.getJobId();
+                        afterBookmarkId = last.getBookmarkId();
+                    }
+                    if (rows.size() < chunkSize) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+
+                int waveSize = sendWave(wave);
+                sent += waveSize;
+
+                // Only advance past the wave once every chunk in it has been delivered
+                checkpoint.setLastJobId(afterJobId);
+                checkpoint.setLastBookmarkId(afterBookmarkId);
+                checkpoint.setRemindersSent(checkpoint.getRemindersSent() + waveSize);
+                checkpoint.setCompleted(exhausted);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpoint = checkpointRepository.save(checkpoint);
+            }
+            logger.info("Sent {} deadline reminders for jobs closing by {}", checkpoint.getRemindersSent(), closesBy);
+            return sent;
+        } catch (ExecutionException e) {
+            // Checkpoint stays at the last completed wave. Only another run for the same date resumes from it, e.g.
+            // resumeInterruptedRun after a restart that day; the next scheduled run is a new date with its own scan.
+            // Its window still covers every job of this run that is open, so only the jobs closing today miss out.
+            logger.error("Deadline reminder run for {} failed: {}", runDate, e.getCause().getMessage(), e.getCause());
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Deadline reminder run for {} interrupted", runDate);
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private static DeadlineReminder toReminder(DeadlineReminderRow row) {
+        return new DeadlineReminder(row.getBookmarkId(), row.getJobId(), row.getJobTitle(), row.getLastDateToApply(),
+                row.getUserId(), row.getUserEmail(), row.getUserFirstName());
+    }
+
+    private int sendWave(List<List<DeadlineReminder>> wave) throws ExecutionException, InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(wave.size());
+        int size = 0;
+        for (List<DeadlineReminder> chunk : wave) {
+            futures.add(executor.submit(() -> notificationSender.sendDeadlineReminders(chunk)));
+            size += chunk.size();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return size;
+    }
+}
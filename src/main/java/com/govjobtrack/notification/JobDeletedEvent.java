@@ -0,0 +1,15 @@
+package com.govjobtrack.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Published in the transaction that deletes a job's row, with every user whose bookmark of it was removed
+@Data
+@AllArgsConstructor
+public class JobDeletedEvent {
+    private Long jobId;
+    private String jobTitle;
+    private List<Long> userIds;
+}
@@ -0,0 +1,38 @@
+package com.govjobtrack.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Tells users about a deleted job only once the job row's delete has committed; a rolled-back delete notifies nobody
+@Component
+public class JobDeletedNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDeletedNotifier.class);
+
+    @Autowired
+    private NotificationSender notificationSender;
+
+    @Value("${app.jobs.delete.chunk-size:1000}")
+    private int chunkSize;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onJobDeleted(JobDeletedEvent event) {
+        List<Long> userIds = event.getUserIds();
+        try {
+            for (int from = 0; from < userIds.size(); from += chunkSize) {
+                notificationSender.sendJobDeletedNotices(event.getJobId(), event.getJobTitle(),
+                        userIds.subList(from, Math.min(from + chunkSize, userIds.size())));
+            }
+        } catch (RuntimeException e) {
+            // The job is gone either way; a failing sender must not turn the committed delete into an error
+            logger.error("Notifying users about deleted job ID: {} failed: {}", event.getJobId(), e.getMessage(), e);
+        }
+    }
+}
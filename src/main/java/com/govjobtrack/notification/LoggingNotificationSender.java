@@ -0,0 +1,28 @@
+package com.govjobtrack.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Placeholder until email alerts are implemented; replace with a @Primary NotificationSender bean
+@Component
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void sendDeadlineReminders(List<DeadlineReminder> reminders) {
+        for (DeadlineReminder reminder : reminders) {
+            logger.debug("Reminder for User ID: {}: job ID: {} '{}' closes on {}", reminder.getUserId(),
+                    reminder.getJobId(), reminder.getJobTitle(), reminder.getLastDateToApply());
+        }
+        logger.info("Sent {} deadline reminders", reminders.size());
+    }
+
+    @Override
+    public void sendJobDeletedNotices(Long jobId, String jobTitle, List<Long> userIds) {
+        logger.info("Notified {} users that job ID: {} '{}' was removed", userIds.size(), jobId, jobTitle);
+    }
+}
@@ -0,0 +1,12 @@
+package com.govjobtrack.notification;
+
+import java.util.List;
+
+public interface NotificationSender {
+    // Called concurrently from the reminder workers, one chunk per call; reminders arrive grouped by job
+    void sendDeadlineReminders(List<DeadlineReminder> reminders);
+
+    // Called after a job's delete has committed, with the ids of the users who had bookmarked it, at most
+    // app.jobs.delete.chunk-size per call
+    void sendJobDeletedNotices(Long jobId, String jobTitle, List<Long> userIds);
+}
@@ -0,0 +1,23 @@
+package com.govjobtrack.payload.request;
+
+import lombok.Data;
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+
+@Data
+public class BookmarkSyncOperation {
+
+    public enum Action {
+        ADD,
+        REMOVE
+    }
+
+    @NotNull
+    private Long jobId;
+
+    @NotNull
+    private Action action;
+
+    @NotNull
+    private Instant clientTimestamp; // When the toggle happened on the device, used for last-write-wins
+}
@@ -0,0 +1,16 @@
+package com.govjobtrack.payload.request;
+
+import lombok.Data;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class BookmarkSyncRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid @NotNull BookmarkSyncOperation> operations; // Queued offline toggles, in any order
+}
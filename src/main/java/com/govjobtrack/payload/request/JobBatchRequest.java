@@ -0,0 +1,15 @@
+package com.govjobtrack.payload.request;
+
+import lombok.Data;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class JobBatchRequest {
+
+    @NotEmpty
+    @Size(max = 500) // POST variant for larger sets than fit comfortably in a query string
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,8 @@
+package com.govjobtrack.payload.request;
+
+import lombok.Data;
+
+@Data
+public class LogoutRequest {
+    private String refreshToken; // Optional; when present its whole rotation family is revoked
+}
@@ -0,0 +1,10 @@
+package com.govjobtrack.payload.request;
+
+import lombok.Data;
+import javax.validation.constraints.NotBlank;
+
+@Data
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,13 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlsoBookmarkedJobResponse {
+    private PublicJobResponse job;
+    private int bookmarkedTogether; // Number of users who bookmarked both jobs
+}
@@ -0,0 +1,17 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkSyncResponse {
+    private String version; // Changes whenever the user's set of bookmarked job ids changes
+    private List<Long> bookmarkedJobIds; // Full resulting set, sorted, so the client can replace its local copy
+    private int added;
+    private int removed;
+    private int ignored; // Superseded, redundant or referring to jobs that no longer exist
+}
@@ -0,0 +1,13 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedResponse {
+    private String token;
+    private String feedUrl; // Subscribe to this URL from a calendar app; it needs no Authorization header
+}
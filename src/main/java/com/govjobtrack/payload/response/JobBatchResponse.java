@@ -0,0 +1,14 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobBatchResponse {
+    private List<PublicJobResponse> jobs; // In the order the ids were requested
+    private List<Long> missingIds; // Requested ids with no matching job
+}
@@ -12,6 +12,7 @@ public class JwtResponse {
     private String firstName; // Added firstName
     private String lastName;  // Added lastName
     private List<String> roles;
+    private String refreshToken; // Exchange at /api/auth/refresh for a new access token
 
     public JwtResponse(String accessToken, Long id, String email, String firstName, String lastName, List<String> roles) {
         this.token = accessToken;
@@ -0,0 +1,22 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A job as served by the anonymous, publicly cacheable GET /api/jobs/** endpoints: no details of the admin who posted it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicJobResponse {
+    private Long id;
+    private String title;
+    private String department;
+    private String description;
+    private String qualification;
+    private String applicationLink;
+    private LocalDate lastDateToApply;
+    private LocalDateTime postedDate;
+}
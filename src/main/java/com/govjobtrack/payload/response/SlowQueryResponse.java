@@ -0,0 +1,23 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryResponse {
+    private String shape;      // SQL with IN lists collapsed to a single placeholder
+    private String bindShape;  // Types of the bound values, e.g. "Long, String, Timestamp"; never the values themselves
+    private long count;        // Slow executions since windowStart
+    private double maxMillis;
+    private double meanMillis;
+    private double totalMillis;
+    private Instant windowStart;
+    private Instant lastSeen;
+    private List<String> explain; // One line per plan row; empty until the background EXPLAIN has run
+}
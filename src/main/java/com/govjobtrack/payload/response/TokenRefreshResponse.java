@@ -0,0 +1,17 @@
+package com.govjobtrack.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TokenRefreshResponse {
+    private String token;
+    private String refreshToken; // The presented refresh token is now used up; this one replaces it
+    private String type = "Bearer";
+
+    public TokenRefreshResponse(String accessToken, String refreshToken) {
+        this.token = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
@@ -3,22 +3,105 @@ package com.govjobtrack.repository;
 import com.govjobtrack.model.Bookmark;
 import com.govjobtrack.model.Job;
 import com.govjobtrack.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     Optional<Bookmark> findByUserAndJob(User user, Job job);
 
+    List<Bookmark> findByUser(User user);
+
     // Page<Bookmark> findByUser(User user, Pageable pageable); // Replaced by version with JOIN FETCH
 
     // Fetches Bookmarks with their associated Job and User eagerly to avoid N+1 issues when mapping
-    @Query("SELECT b FROM Bookmark b JOIN FETCH b.job j JOIN FETCH b.user u WHERE u = :user")
+    @Query(value = "SELECT b FROM Bookmark b JOIN FETCH b.job j JOIN FETCH b.user u WHERE u = :user",
+           countQuery = "SELECT COUNT(b) FROM Bookmark b WHERE b.user = :user")
     Page<Bookmark> findByUserWithJobAndUserEager(User user, Pageable pageable);
 
+    // Ids only, no entity hydration; sorted so the result can be binary-searched
+    @Query("SELECT b.job.id FROM Bookmark b WHERE b.user.id = :userId ORDER BY b.job.id")
+    List<Long> findJobIdsByUserId(Long userId);
+
+    // Single conditional DELETE by ids; returns the number of rows removed (0 or 1 given the unique constraint)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Bookmark b WHERE b.user.id = :userId AND b.job.id = :jobId")
+    int deleteByUserIdAndJobId(Long userId, Long jobId);
+
+    // Existing bookmarks among the given jobs, as [jobId, bookmarkedDate] pairs
+    @Query("SELECT b.job.id, b.bookmarkedDate FROM Bookmark b WHERE b.user.id = :userId AND b.job.id IN :jobIds")
+    List<Object[]> findBookmarkedDatesByUserIdAndJobIdIn(Long userId, Collection<Long> jobIds);
+
+    // Multi-row insert in one statement; jobs that don't exist or are already bookmarked are skipped
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO bookmarks (user_id, job_id, bookmarked_date) " +
+                   "SELECT :userId, j.id, :bookmarkedDate FROM jobs j WHERE j.id IN (:jobIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM bookmarks b WHERE b.user_id = :userId AND b.job_id = j.id)",
+           nativeQuery = true)
+    int insertMissingBookmarks(Long userId, Collection<Long> jobIds, LocalDateTime bookmarkedDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Bookmark b WHERE b.user.id = :userId AND b.job.id IN :jobIds")
+    int deleteByUserIdAndJobIdIn(Long userId, Collection<Long> jobIds);
+
+    // Keyset-paged scan of bookmarks on jobs closing in [from, to], ordered by job so reminders arrive grouped per job.
+    // Pass the (job id, bookmark id) of the last row seen; (0, 0) starts from the beginning.
+    @Query("SELECT b.id AS bookmarkId, j.id AS jobId, j.title AS jobTitle, j.lastDateToApply AS lastDateToApply, " +
+           "u.id AS userId, u.email AS userEmail, u.firstName AS userFirstName " +
+           "FROM Bookmark b JOIN b.job j JOIN b.user u " +
+           "WHERE j.lastDateToApply BETWEEN :from AND :to " +
+           "AND (j.id > :afterJobId OR (j.id = :afterJobId AND b.id > :afterBookmarkId)) " +
+           "ORDER BY j.id, b.id")
+    List<DeadlineReminderRow> findDeadlineRemindersAfter(LocalDate from, LocalDate to, Long afterJobId, Long afterBookmarkId,
+                                                         Pageable pageable);
+
+    // Projection of findDeadlineRemindersAfter; the reminder job maps it to its own notification type
+    interface DeadlineReminderRow {
+        Long getBookmarkId();
+        Long getJobId();
+        String getJobTitle();
+        LocalDate getLastDateToApply();
+        Long getUserId();
+        String getUserEmail();
+        String getUserFirstName();
+    }
+
+    // Rows for the iCalendar feed: job id, title, department, last date to apply, application link, bookmarked date.
+    // Streamed so large bookmark lists are never materialised as entities; must be consumed inside a transaction.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT j.id, j.title, j.department, j.lastDateToApply, j.applicationLink, b.bookmarkedDate " +
+           "FROM Bookmark b JOIN b.job j " +
+           "WHERE b.user.id = :userId AND j.lastDateToApply IS NOT NULL ORDER BY j.lastDateToApply, j.id")
+    Stream<Object[]> streamCalendarRowsByUserId(Long userId);
+
+    // Every (user id, job id) pair grouped by user, for rebuilding the co-bookmark index in one scan
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.user.id, b.job.id FROM Bookmark b ORDER BY b.user.id, b.job.id")
+    Stream<Object[]> streamUserJobPairs();
+
+    long countByJobId(Long jobId);
+
+    // (user, job) is unique, so user ids identify a job's bookmarks; used to delete them in chunks
+    @Query("SELECT b.user.id FROM Bookmark b WHERE b.job.id = :jobId ORDER BY b.user.id")
+    List<Long> findUserIdsByJobId(Long jobId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Bookmark b WHERE b.job.id = :jobId AND b.user.id IN :userIds")
+    int deleteByJobIdAndUserIdIn(Long jobId, Collection<Long> userIds);
+
     // We might also want a method to find Bookmarks by Job, e.g., to see how many users bookmarked a specific job
     // List<Bookmark> findByJob(Job job);
 }
@@ -1,10 +1,22 @@
 package com.govjobtrack.repository;
 
 import com.govjobtrack.model.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-// We can add custom query methods here later if needed, e.g., findByDepartment, findByTitleContaining, etc.
+// We can add custom query methods here later if needed, e.g., findByTitleContaining, etc.
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // GET /api/jobs?department=...; idx_jobs_department_posted_date serves the filter and the default postedDate sort
+    Page<Job> findByDepartment(String department, Pageable pageable);
+
+    // Deletes without loading the entity first; bookmarks must already be gone (fk_bookmarks_job)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Job j WHERE j.id = :jobId")
+    int deleteByIdInBulk(Long jobId);
 }
@@ -0,0 +1,33 @@
+package com.govjobtrack.repository;
+
+import com.govjobtrack.model.RefreshToken;
+import com.govjobtrack.model.RevocationReason;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Conditional update, so of two concurrent refreshes with the same token exactly one wins
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt, t.revocationReason = com.govjobtrack.model.RevocationReason.ROTATED "
+            + "WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") Instant usedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt, t.revocationReason = :reason WHERE t.familyId = :familyId AND t.usedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("usedAt") Instant usedAt, @Param("reason") RevocationReason reason);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,11 @@
+package com.govjobtrack.repository;
+
+import com.govjobtrack.model.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, LocalDate> {
+}
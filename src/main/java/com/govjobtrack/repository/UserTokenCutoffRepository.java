@@ -0,0 +1,21 @@
+package com.govjobtrack.repository;
+
+import com.govjobtrack.model.UserTokenCutoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserTokenCutoffRepository extends JpaRepository<UserTokenCutoff, Long> {
+
+    List<UserTokenCutoff> findByCutoffAtAfter(Instant since);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenCutoff c WHERE c.cutoffAt <= :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
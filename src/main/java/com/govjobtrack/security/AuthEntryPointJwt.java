@@ -1,9 +1,10 @@
 package com.govjobtrack.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govjobtrack.exception.ErrorLogSampler;
+import com.govjobtrack.exception.ErrorResponseWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -12,29 +13,24 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthEntryPointJwt.class);
 
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
+
+    // The most frequent response under scraping traffic, so it is logged sampled and written from a cached body
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
-        logger.error("Unauthorized error: {}", authException.getMessage());
-
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-
-        final Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        body.put("error", "Unauthorized");
-        body.put("message", authException.getMessage());
-        body.put("path", request.getServletPath());
-
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        errorLogSampler.warn(logger, "Unauthorized", "Unauthorized error: {}", authException.getMessage());
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized",
+                authException.getMessage(), request.getServletPath());
     }
 }
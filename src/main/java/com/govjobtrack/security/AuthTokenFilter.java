@@ -1,13 +1,19 @@
 package com.govjobtrack.security;
 
+import com.govjobtrack.config.RequestTimings;
+import com.govjobtrack.exception.ErrorLogSampler;
 import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.jwt.RevokedTokens;
+import com.govjobtrack.security.jwt.UserTokenCutoffs;
+import com.govjobtrack.security.services.UserDetailsImpl;
 import com.govjobtrack.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,6 +23,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 // Not marking with @Component here, it will be created as a bean in WebSecurityConfig
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -27,30 +34,71 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserTokenCutoffs userTokenCutoffs;
+
+    @Autowired
+    private RevokedTokens revokedTokens;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Time spent authenticating requests that carry a bearer token, tagged by outcome
+    public static final String METRIC = "govjobtrack.security.jwt";
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
+        String outcome = null; // Stays null for requests without a token
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.getVerifiedClaims(jwt) : null; // One verification at most
+            if (jwt != null && claims == null) {
+                outcome = "invalid";
+                errorLogSampler.warn(logger, "InvalidJwt", "Rejected invalid or expired JWT on {}", request.getRequestURI());
+            }
+            if (claims != null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails,
-                                null, // Credentials
-                                userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // The principal comes from the signed claims; only tokens without them still need a users lookup
+                UserDetailsImpl userDetails = jwtUtils.getUserDetailsFromClaims(claims);
+                if (userDetails == null) {
+                    userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+                }
+                if (revokedTokens.isRevoked(claims.getId())
+                        || userTokenCutoffs.isRevoked(userDetails.getId(), claims.getIssuedAt())) {
+                    outcome = "revoked";
+                    logger.debug("Rejected revoked token for User ID: {}", userDetails.getId());
+                } else {
+                    outcome = "authenticated";
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails,
+                                    null, // Credentials
+                                    userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e.getMessage());
+            outcome = "error";
+            errorLogSampler.warn(logger, "JwtAuthenticationFailure", "Cannot set user authentication: {}", e.getMessage());
             // Potentially clear context if an error occurs during JWT processing after it was initially validated
             // SecurityContextHolder.clearContext(); // Uncomment if strict clearing is needed on any error
         }
+        if (outcome != null) {
+            long elapsed = System.nanoTime() - start;
+            meterRegistry.timer(METRIC, "outcome", outcome).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.add(RequestTimings.Phase.AUTH, elapsed);
+            }
+        }
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,112 @@
+package com.govjobtrack.security;
+
+import com.govjobtrack.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt hashing and verification on a small pool sized to the CPU cores, so a burst of logins cannot
+ * occupy every servlet thread with CPU-bound work. The pool's queue is bounded: once it is full, or a hash
+ * has waited too long for a worker, callers get a {@link PasswordHashingBusyException} (503) instead of queueing.
+ * Hashes whose cost differs from the configured one are reported for upgrade, so they are rehashed on next login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final int queueCapacity;
+    private final long maxWaitMillis;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long maxWaitMillis) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, maxWaitMillis);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity, long maxWaitMillis) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMillis = maxWaitMillis;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find() || Integer.parseInt(matcher.group(1)) == strength) {
+            return false;
+        }
+        // A rehash costs a second hash on the login path; skip it while the pool is under pressure
+        return queuedHashes() < queueCapacity / 2;
+    }
+
+    int queuedHashes() {
+        return executor.getQueue().size();
+    }
+
+    // Bean destroy method, inferred by Spring for @Bean definitions
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many concurrent sign-in requests, please retry shortly");
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // Drops the hash if it is still queued; one already running just completes
+            throw new PasswordHashingBusyException("Timed out waiting to verify the password, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingBusyException("Interrupted while verifying the password");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
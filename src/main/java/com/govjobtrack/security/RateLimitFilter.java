@@ -0,0 +1,124 @@
+package com.govjobtrack.security;
+
+import com.govjobtrack.config.RateLimitProperties;
+import com.govjobtrack.exception.ErrorLogSampler;
+import com.govjobtrack.exception.ErrorResponseWriter;
+import com.govjobtrack.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets in front of authentication, so floods of sign-ins (each a BCrypt hash) or writes are
+ * turned away with 429 before doing any work. Buckets live in a concurrent map keyed by rule and client, refill
+ * lazily on access and are dropped once full again. Limits are per instance.
+ */
+// Not marking with @Component here, it will be created as a bean in WebSecurityConfig
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (properties.isEnabled()) {
+            List<RateLimitProperties.Rule> rules = properties.getRules();
+            for (int i = 0; i < rules.size(); i++) {
+                RateLimitProperties.Rule rule = rules.get(i);
+                if (matches(rule, request)) {
+                    String key = i + ":" + clientKey(rule, request);
+                    long now = System.nanoTime();
+                    long waitNanos = buckets
+                            .computeIfAbsent(key, k -> new TokenBucket(rule.getCapacity(), rule.getPeriod().toNanos(), now))
+                            .tryAcquire(now);
+                    if (waitNanos > 0) {
+                        reject(request, response, waitNanos, key);
+                        return;
+                    }
+                    break; // First matching rule only
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}",
+            initialDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        // A request racing with the removal may land on the dropped bucket; that only forgives a single token
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private boolean matches(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        List<String> methods = rule.getMethods();
+        return (methods == null || methods.isEmpty() || methods.contains(request.getMethod()))
+                && pathMatcher.match(rule.getPattern(), urlPathHelper.getPathWithinApplication(request));
+    }
+
+    private String clientKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        if (rule.getKey() == RateLimitProperties.KeyType.USER) {
+            String headerAuth = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+                // Verified claims are cached, so AuthTokenFilter's own lookup of this token is a cache hit
+                Claims claims = jwtUtils.getVerifiedClaims(headerAuth.substring(7));
+                if (claims != null) {
+                    Object userId = claims.get(JwtUtils.CLAIM_USER_ID);
+                    return userId != null ? "u" + userId : "s" + claims.getSubject(); // Older tokens carry only the email
+                }
+            }
+        }
+        return request.getRemoteAddr(); // Behind a proxy, enable server.forward-headers-strategy
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos, String key)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        String path = urlPathHelper.getPathWithinApplication(request);
+        errorLogSampler.warn(logger, "RateLimited", "Rate limit exceeded for {} on {} {}", key, request.getMethod(), path);
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        // Fixed message, so the body is served from the writer's cache; the wait is in Retry-After
+        errorResponseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, please retry later", path);
+    }
+}
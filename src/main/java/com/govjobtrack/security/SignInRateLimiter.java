@@ -0,0 +1,45 @@
+package com.govjobtrack.security;
+
+import com.govjobtrack.config.RateLimitProperties;
+import com.govjobtrack.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sign-in attempts per account, on top of RateLimitFilter's per-address rules: guesses spread over many addresses
+ * still drain the one bucket of the account they target. Checked before the user lookup and the password hash,
+ * so unknown emails are limited alike. Limits are per instance.
+ */
+@Component
+public class SignInRateLimiter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public void acquire(String email) {
+        if (!properties.isEnabled() || email == null) {
+            return;
+        }
+        RateLimitProperties.Limit limit = properties.getSigninPerAccount();
+        long now = System.nanoTime();
+        long waitNanos = buckets
+                .computeIfAbsent(email.toLowerCase(Locale.ROOT), k -> new TokenBucket(limit.getCapacity(), limit.getPeriod().toNanos(), now))
+                .tryAcquire(now);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many sign-in attempts for one account", waitNanos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}",
+            initialDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+}
@@ -0,0 +1,48 @@
+package com.govjobtrack.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as the single "theoretical arrival time" of the generic cell rate algorithm:
+ * the instant at which the bucket would be full again. Refill is implied by the clock, so there is no timer,
+ * and each acquisition is one CAS on one long.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos; // How far the arrival time may run ahead of now: capacity - 1 tokens
+
+    private final AtomicLong fullAtNanos;
+
+    public TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        if (capacity < 1 || refillPeriodNanos < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and refill period");
+        }
+        this.nanosPerToken = Math.max(1, refillPeriodNanos / capacity);
+        this.burstNanos = nanosPerToken * (capacity - 1);
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 on success, otherwise the nanoseconds until a token becomes available
+     * (nothing is taken in that case).
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAtNanos.get();
+            long base = Math.max(current, nowNanos);
+            long waitNanos = base - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAtNanos.compareAndSet(current, base + nanosPerToken)) {
+                return 0;
+            }
+        }
+    }
+
+    // Full again, so forgetting the bucket loses nothing
+    public boolean isIdle(long nowNanos) {
+        return fullAtNanos.get() <= nowNanos;
+    }
+}
@@ -1,5 +1,8 @@
 package com.govjobtrack.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.govjobtrack.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -8,24 +11,49 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Identity claims, so AuthTokenFilter can build the principal without loading the user
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_FIRST_NAME = "fn";
+    public static final String CLAIM_LAST_NAME = "ln";
+    public static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecretString;
 
     @Value("${jwt.expiration.ms}")
     private int jwtExpirationMs;
 
+    // Verified claims keyed by token digest; an entry lives until the token's exp at the latest
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10000;
+
     private Key jwtSecretKey;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser jwtParser;
+
+    private Cache<String, Claims> verifiedClaims;
+
     @PostConstruct
     public void init() {
         // Ensure the secret key is strong enough for HS256, HS384, or HS512
@@ -43,13 +71,51 @@ public class JwtUtils {
         } else {
             this.jwtSecretKey = Keys.hmacShaKeyFor(keyBytes);
         }
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecretKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private static long remainingNanos(Claims claims) {
+        Date expiration = claims.getExpiration();
+        long remainingMs = expiration == null ? 0 : expiration.getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    // Each token carries a random id (jti), so it can be revoked individually through RevokedTokens
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername())) // email in our case
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_FIRST_NAME, userPrincipal.getFirstName())
+                .claim(CLAIM_LAST_NAME, userPrincipal.getLastName())
+                .claim(CLAIM_ROLES, roles)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(jwtSecretKey, SignatureAlgorithm.HS512) // Using HS512 for stronger signature
@@ -67,25 +133,88 @@ public class JwtUtils {
     }
 
     public String getEmailFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(jwtSecretKey).build().parseClaimsJws(token).getBody().getSubject();
+        return getClaimsFromJwtToken(token).getSubject();
+    }
+
+    public Claims getClaimsFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or null if it is invalid or expired.
+     * Repeat requests with the same token are answered from the verified-claims cache, skipping signature
+     * verification, base64 decoding and JSON parsing; a hit is only possible for the exact same token bytes.
+     */
+    public Claims getVerifiedClaims(String token) {
+        if (token == null || token.isBlank()) {
+            logger.debug("JWT claims string is empty");
+            return null;
+        }
+        String digest = digest(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parseOrNull(token);
+        if (claims != null) {
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Builds the principal from verified claims, or returns null for tokens without the identity claims
+     * (e.g. issued by generateTokenFromEmail or before the claims were added); callers then load the user instead.
+     * Roles are as of token issue; when a user's roles change, {@link UserRoleChangeListener} revokes the older tokens
+     * through {@link UserTokenCutoffs}.
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (userId == null || !(roles instanceof List)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = ((List<?>) roles).stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+        return new UserDetailsImpl(
+                userId,
+                claims.getSubject(),
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                null, // No password: the principal is only used for authorization
+                authorities);
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseOrNull(authToken) != null;
+    }
+
+    // Debug only: AuthTokenFilter logs rejected tokens sampled, so a flood of bad tokens cannot flood the log
+    private Claims parseOrNull(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(jwtSecretKey).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            logger.debug("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
     }
 }
@@ -0,0 +1,106 @@
+package com.govjobtrack.security.jwt;
+
+import com.govjobtrack.model.RevokedToken;
+import com.govjobtrack.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of revoked access tokens. Lookups go to a Bloom filter first, so the common not-revoked case is a few bit
+ * tests; only filter hits consult the exact set. The set is persisted, loaded at startup and periodically merged
+ * with revocations made by other instances. Expired ids are purged and the filter is rebuilt without them.
+ */
+@Component
+public class RevokedTokens {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokens.class);
+
+    // Sync window overlap, so rows committed slightly out of revokedAt order are still picked up
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Value("${app.jwt.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${app.jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final Map<String, Instant> expiryByTokenId = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private volatile Instant lastSync;
+
+    @PostConstruct
+    public void init() {
+        Instant now = Instant.now();
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            expiryByTokenId.put(revoked.getTokenId(), revoked.getExpiresAt());
+        }
+        rebuildFilter();
+        lastSync = now;
+        logger.info("Loaded {} revoked token ids", expiryByTokenId.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && expiryByTokenId.containsKey(tokenId);
+    }
+
+    // Synchronized with the filter rebuild, so a revocation cannot fall between the snapshot and the swap
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return; // Nothing to revoke: pre-jti token, or already expired
+        }
+        if (expiryByTokenId.putIfAbsent(tokenId, expiresAt) == null) {
+            filter.put(tokenId);
+            revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, Instant.now()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${app.jwt.revocation.sync-interval-ms:30000}")
+    public synchronized void syncFromDatabase() {
+        Instant now = Instant.now();
+        int added = 0;
+        for (RevokedToken revoked : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), now)) {
+            if (expiryByTokenId.putIfAbsent(revoked.getTokenId(), revoked.getExpiresAt()) == null) {
+                filter.put(revoked.getTokenId());
+                added++;
+            }
+        }
+        lastSync = now;
+        if (added > 0) {
+            logger.debug("Merged {} token revocations from other instances", added);
+        }
+    }
+
+    @Scheduled(cron = "${app.jwt.revocation.purge-cron:0 17 * * * *}")
+    @Transactional
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        expiryByTokenId.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        rebuildFilter(); // Bloom filters cannot remove keys, so start from the remaining ids
+        logger.info("Purged {} expired token revocations; {} remain", deleted, expiryByTokenId.size());
+    }
+
+    private void rebuildFilter() {
+        // Sized with headroom, so the false-positive rate holds until the next purge
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, expiryByTokenId.size() * 2), falsePositiveRate);
+        expiryByTokenId.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.govjobtrack.security.jwt;
+
+import com.govjobtrack.model.User;
+import com.govjobtrack.security.services.UserDetailsServiceImpl;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+
+/**
+ * Access tokens carry the roles they were issued with, so a change to a user's roles revokes the tokens issued
+ * before it. A Hibernate collection listener rather than a JPA callback: changing only the roles collection
+ * does not call the entity's @PostUpdate. Replacing the whole set shows up as a remove of the old one; the
+ * first roles of a new user are a recreate and are not listened to.
+ */
+@Component
+public class UserRoleChangeListener implements PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserTokenCutoffs userTokenCutoffs;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onRolesChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onRolesChanged(event);
+    }
+
+    private void onRolesChanged(AbstractCollectionEvent event) {
+        if (!USER_ROLES.equals(event.getCollection().getRole()) || !(event.getAffectedOwnerOrNull() instanceof User)) {
+            return;
+        }
+        User user = (User) event.getAffectedOwnerOrNull();
+        userDetailsService.evictUser(user.getEmail()); // The entity's own listener misses collection-only changes too
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Until the commit, sign-ins and refreshes still read the old roles, so the cut-off is taken after it
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userTokenCutoffs.revokeTokensIssuedBefore(userId, nextWholeSecond());
+                }
+            });
+        } else {
+            userTokenCutoffs.revokeTokensIssuedBefore(userId, nextWholeSecond());
+        }
+    }
+
+    // iat has second precision, so a token issued earlier in the commit second may still carry the old roles.
+    // Rounding up rejects those too; a token issued later in that second is rejected as well and needs a new sign-in.
+    private static Instant nextWholeSecond() {
+        return Instant.ofEpochSecond(Instant.now().getEpochSecond() + 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.govjobtrack.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.govjobtrack.model.UserTokenCutoff;
+import com.govjobtrack.repository.UserTokenCutoffRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Per-user cut-off: tokens issued before it are rejected, e.g. after a role change or a detected refresh token reuse.
+ * Checked on every request against an in-memory map without touching the database. Like {@link RevokedTokens}, the
+ * cut-offs are persisted, loaded at startup and periodically merged from other instances. Entries only need to
+ * outlive the tokens they reject, so they expire after the token lifetime.
+ */
+@Component
+public class UserTokenCutoffs {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTokenCutoffs.class);
+
+    // Sync window overlap, so rows committed slightly out of cutoffAt order are still picked up
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Value("${app.jwt.revocation-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.expiration.ms}")
+    private long jwtExpirationMs;
+
+    @Autowired
+    private UserTokenCutoffRepository userTokenCutoffRepository;
+
+    private Cache<Long, Long> cutoffEpochSeconds;
+
+    private volatile Instant lastSync;
+
+    @PostConstruct
+    public void init() {
+        cutoffEpochSeconds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
+        Instant now = Instant.now();
+        merge(userTokenCutoffRepository.findByCutoffAtAfter(now.minusMillis(jwtExpirationMs)));
+        lastSync = now;
+    }
+
+    // Own transaction: also called after the role change that caused it has committed (UserRoleChangeListener)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void revokeTokensIssuedBefore(Long userId, Instant cutoff) {
+        cutoffEpochSeconds.asMap().merge(userId, cutoff.getEpochSecond(), Math::max);
+        UserTokenCutoff stored = userTokenCutoffRepository.findById(userId).orElse(null);
+        if (stored == null) {
+            userTokenCutoffRepository.save(new UserTokenCutoff(userId, cutoff));
+        } else if (stored.getCutoffAt().isBefore(cutoff)) {
+            stored.setCutoffAt(cutoff);
+        }
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (!enabled) {
+            return false;
+        }
+        Long cutoff = cutoffEpochSeconds.getIfPresent(userId);
+        // iat has second precision, so a token issued in the cut-off second itself stays valid
+        return cutoff != null && (issuedAt == null || issuedAt.toInstant().getEpochSecond() < cutoff);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${app.jwt.revocation.sync-interval-ms:30000}")
+    public void syncFromDatabase() {
+        Instant now = Instant.now();
+        int merged = merge(userTokenCutoffRepository.findByCutoffAtAfter(lastSync.minus(SYNC_OVERLAP)));
+        lastSync = now;
+        if (merged > 0) {
+            logger.debug("Merged {} token cut-offs from other instances", merged);
+        }
+    }
+
+    @Scheduled(cron = "${app.jwt.revocation.purge-cron:0 17 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = userTokenCutoffRepository.deleteOlderThan(Instant.now().minusMillis(jwtExpirationMs));
+        logger.info("Purged {} expired token cut-offs", deleted);
+    }
+
+    private int merge(Iterable<UserTokenCutoff> cutoffs) {
+        int merged = 0;
+        for (UserTokenCutoff cutoff : cutoffs) {
+            cutoffEpochSeconds.asMap().merge(cutoff.getUserId(), cutoff.getCutoffAt().getEpochSecond(), Math::max);
+            merged++;
+        }
+        return merged;
+    }
+}
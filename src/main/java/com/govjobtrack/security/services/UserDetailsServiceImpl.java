@@ -1,26 +1,79 @@
 package com.govjobtrack.security.services;
 
+import com.govjobtrack.config.CacheConfig;
 import com.govjobtrack.model.User;
 import com.govjobtrack.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    // Cached per lower-cased email, since the email column's collation matches logins case-insensitively;
+    // UserDetailsImpl is not a CredentialsContainer, so the cached password hash survives logins.
+    // Not-found results are not cached.
     @Override
     @Transactional // Important for loading LAZY collections like roles if not EAGER
+    @Cacheable(value = CacheConfig.USER_DETAILS_CACHE, key = "T(com.govjobtrack.security.services.UserDetailsServiceImpl).cacheKey(#email)")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
         return UserDetailsImpl.build(user);
     }
+
+    // Called by the authentication provider after a successful login when the stored hash uses an outdated BCrypt cost.
+    // The entity update evicts the cached details through UserCacheInvalidationListener.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        return UserDetailsImpl.build(userRepository.save(entity));
+    }
+
+    /**
+     * Drops the cached details for this email now and again once the surrounding transaction commits,
+     * so a concurrent load cannot re-cache the pre-change state.
+     */
+    public void evictUser(String email) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache == null || email == null) {
+            return;
+        }
+        String key = cacheKey(email);
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+    // Every spelling of a login shares one entry, so evicting the stored email also drops "Admin@x.com"
+    public static String cacheKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
 }
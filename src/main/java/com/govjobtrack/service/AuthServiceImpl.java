@@ -4,14 +4,19 @@ import com.govjobtrack.model.Role;
 import com.govjobtrack.model.RoleEntity;
 import com.govjobtrack.model.User;
 import com.govjobtrack.payload.request.LoginRequest;
+import com.govjobtrack.payload.request.LogoutRequest;
 import com.govjobtrack.payload.request.SignupRequest;
+import com.govjobtrack.payload.request.TokenRefreshRequest;
 import com.govjobtrack.payload.response.JwtResponse;
 import com.govjobtrack.payload.response.MessageResponse;
-import com.govjobtrack.repository.RoleRepository;
 import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.SignInRateLimiter;
 import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.jwt.RevokedTokens;
 import com.govjobtrack.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,11 +24,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,7 +42,7 @@ public class AuthServiceImpl implements AuthService {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -45,15 +50,20 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    RevokedTokens revokedTokens;
+
+    @Autowired
+    SignInRateLimiter signInRateLimiter;
+
+    // Not transactional: the password is hashed before any connection is taken, and the save is one transaction
+    // (users insert plus its user_roles rows). Duplicate emails are caught by the unique key, not a prior lookup,
+    // which also settles two concurrent signups with the same email.
     @Override
-    @Transactional
     public ResponseEntity<?> registerUser(SignupRequest signUpRequest) {
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
-
         // Create new user's account
         User user = new User(signUpRequest.getFirstName(),
                              signUpRequest.getLastName(),
@@ -64,32 +74,38 @@ public class AuthServiceImpl implements AuthService {
         Set<RoleEntity> roles = new HashSet<>();
 
         if (strRoles == null || strRoles.isEmpty()) {
-            RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role_User is not found. Initialize roles in DB."));
-            roles.add(userRole);
+            roles.add(roleRegistry.get(Role.ROLE_USER));
         } else {
             strRoles.forEach(role -> {
                 switch (role.toLowerCase()) {
                     case "admin":
-                        RoleEntity adminRole = roleRepository.findByName(Role.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role_Admin is not found. Initialize roles in DB."));
-                        roles.add(adminRole);
+                        roles.add(roleRegistry.get(Role.ROLE_ADMIN));
                         break;
                     default: // "user" or any other string defaults to USER
-                        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role_User is not found. Initialize roles in DB."));
-                        roles.add(userRole);
+                        roles.add(roleRegistry.get(Role.ROLE_USER));
                 }
             });
         }
         user.setRoles(roles);
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            // Databases not yet migrated by V2 still carry Hibernate's hashed name for the key, hence the lookup
+            if (cause.contains(User.UNIQUE_EMAIL) || userRepository.existsByEmail(user.getEmail())) {
+                return ResponseEntity
+                        .badRequest()
+                        .body(new MessageResponse("Error: Email is already in use!"));
+            }
+            throw ex;
+        }
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 
     @Override
     public ResponseEntity<?> authenticateUser(LoginRequest loginRequest) {
+        signInRateLimiter.acquire(loginRequest.getEmail());
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
 
@@ -101,11 +117,30 @@ public class AuthServiceImpl implements AuthService {
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                                                 userDetails.getId(),
-                                                 userDetails.getUsername(), // which is email
-                                                 userDetails.getFirstName(),
-                                                 userDetails.getLastName(),
-                                                 roles));
+        JwtResponse jwtResponse = new JwtResponse(jwt,
+                                                  userDetails.getId(),
+                                                  userDetails.getUsername(), // which is email
+                                                  userDetails.getFirstName(),
+                                                  userDetails.getLastName(),
+                                                  roles);
+        jwtResponse.setRefreshToken(refreshTokenService.createRefreshToken(userDetails.getId()));
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    @Override
+    public ResponseEntity<?> refreshToken(TokenRefreshRequest refreshRequest) {
+        return ResponseEntity.ok(refreshTokenService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    @Override
+    public ResponseEntity<?> logout(String accessToken, LogoutRequest logoutRequest) {
+        Claims claims = accessToken != null ? jwtUtils.getVerifiedClaims(accessToken) : null;
+        if (claims != null && claims.getExpiration() != null) {
+            revokedTokens.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+        if (logoutRequest != null && logoutRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(logoutRequest.getRefreshToken());
+        }
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
     }
 }
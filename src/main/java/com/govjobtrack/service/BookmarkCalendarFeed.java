@@ -0,0 +1,14 @@
+package com.govjobtrack.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A rendered feed as cached: the iCalendar bytes, their ETag, and the state they were rendered from
+@Getter
+@AllArgsConstructor
+public class BookmarkCalendarFeed {
+    private final byte[] content;
+    private final String etag;
+    // Bookmark set version plus job generation; the cached bytes are reused only while it still matches
+    private final String sourceVersion;
+}
@@ -0,0 +1,16 @@
+package com.govjobtrack.service;
+
+public interface BookmarkCalendarService {
+
+    // Signed token identifying the user's feed; calendar apps cannot send a bearer token, so it goes in the URL.
+    // Expires after app.calendar.token-validity-days, after which the user fetches a new feed URL.
+    String createFeedToken(Long userId);
+
+    // Returns the user id for a valid, unexpired token, or null
+    Long resolveFeedToken(String token);
+
+    BookmarkCalendarFeed getFeed(Long userId);
+
+    // Invalidates rendered feeds after a job's dates or details change
+    void onJobChanged(Long jobId);
+}
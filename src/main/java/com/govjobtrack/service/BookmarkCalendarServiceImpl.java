@@ -0,0 +1,238 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.config.CacheConfig;
+import com.govjobtrack.repository.BookmarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+public class BookmarkCalendarServiceImpl implements BookmarkCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookmarkCalendarServiceImpl.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter ICS_UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75; // RFC 5545 section 3.1
+    private static final int MIN_SECRET_BYTES = 32; // The HMAC-SHA256 output size
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Its own key: access tokens and feed URLs leak in different ways, and rotating one must not void the other
+    @Value("${app.calendar.token-secret}")
+    private String tokenSecret;
+
+    // Keys rotated out recently; feed tokens signed with them stay valid until they expire
+    @Value("${app.calendar.previous-token-secrets:}")
+    private String[] previousTokenSecrets;
+
+    @Value("${app.calendar.token-validity-days:180}")
+    private long tokenValidityDays;
+
+    // Bumped whenever a job changes; job edits are rare, so invalidating every rendered feed is cheaper than tracking
+    // which users bookmarked the job
+    private final AtomicLong jobsGeneration = new AtomicLong();
+
+    private SecretKeySpec signingKey;
+    private List<SecretKeySpec> verificationKeys; // The signing key first, then the previous ones
+    private Cache calendarsCache;
+
+    @PostConstruct
+    public void init() {
+        // No built-in default: a key everyone can read would let anyone sign a feed URL for any user
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            throw new IllegalStateException("app.calendar.token-secret is not set (CALENDAR_TOKEN_SECRET)");
+        }
+        signingKey = key(tokenSecret);
+        verificationKeys = new ArrayList<>();
+        verificationKeys.add(signingKey);
+        for (String previous : previousTokenSecrets) {
+            if (!previous.isBlank()) {
+                verificationKeys.add(key(previous));
+            }
+        }
+        calendarsCache = cacheManager.getCache(CacheConfig.BOOKMARK_CALENDARS_CACHE);
+    }
+
+    @Override
+    public String createFeedToken(Long userId) {
+        return createFeedToken(userId, Instant.now().plus(tokenValidityDays, ChronoUnit.DAYS));
+    }
+
+    // userId.expiry.signature, the expiry in epoch seconds
+    String createFeedToken(Long userId, Instant expiresAt) {
+        long expiry = expiresAt.getEpochSecond();
+        return userId + "." + expiry + "." + sign(signingKey, userId, expiry);
+    }
+
+    @Override
+    public Long resolveFeedToken(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        Long userId;
+        long expiry;
+        try {
+            userId = Long.valueOf(parts[0]);
+            expiry = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (expiry <= Instant.now().getEpochSecond()) {
+            return null;
+        }
+        byte[] actual = parts[2].getBytes(StandardCharsets.US_ASCII);
+        for (SecretKeySpec key : verificationKeys) {
+            byte[] expected = sign(key, userId, expiry).getBytes(StandardCharsets.US_ASCII);
+            if (MessageDigest.isEqual(expected, actual)) { // Constant-time comparison
+                return userId;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookmarkCalendarFeed getFeed(Long userId) {
+        // Read the version before rendering: a change made while rendering leaves the entry stale, never wrongly fresh
+        String sourceVersion = BookmarkedJobIdsCache.versionOf(bookmarkedJobIdsCache.getBookmarkedJobIds(userId))
+                + "." + jobsGeneration.get();
+        BookmarkCalendarFeed cached = calendarsCache.get(userId, BookmarkCalendarFeed.class);
+        if (cached != null && cached.getSourceVersion().equals(sourceVersion)) {
+            return cached;
+        }
+
+        byte[] content = render(userId);
+        BookmarkCalendarFeed feed = new BookmarkCalendarFeed(content, "\"" + DigestUtils.md5DigestAsHex(content) + "\"", sourceVersion);
+        calendarsCache.put(userId, feed);
+        logger.debug("Rendered calendar feed for User ID: {} ({} bytes)", userId, content.length);
+        return feed;
+    }
+
+    @Override
+    public void onJobChanged(Long jobId) {
+        BookmarkedJobIdsCache.afterCommit(jobsGeneration::incrementAndGet);
+    }
+
+    private byte[] render(Long userId) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        writeLine(out, "BEGIN:VCALENDAR");
+        writeLine(out, "VERSION:2.0");
+        writeLine(out, "PRODID:-//GovJobTrack//Bookmarked Job Deadlines//EN");
+        writeLine(out, "CALSCALE:GREGORIAN");
+        writeLine(out, "X-WR-CALNAME:Job application deadlines");
+        try (Stream<Object[]> rows = bookmarkRepository.streamCalendarRowsByUserId(userId)) {
+            rows.forEach(row -> writeEvent(out, row));
+        }
+        writeLine(out, "END:VCALENDAR");
+        return out.toByteArray();
+    }
+
+    // row: job id, title, department, last date to apply, application link, bookmarked date
+    private void writeEvent(ByteArrayOutputStream out, Object[] row) {
+        Long jobId = (Long) row[0];
+        LocalDate lastDateToApply = (LocalDate) row[3];
+        String applicationLink = (String) row[4];
+        LocalDateTime bookmarkedDate = (LocalDateTime) row[5];
+
+        writeLine(out, "BEGIN:VEVENT");
+        writeLine(out, "UID:job-" + jobId + "@govjobtrack");
+        // Derived from stored data rather than the render time, so re-rendering unchanged data yields the same ETag
+        writeLine(out, "DTSTAMP:" + bookmarkedDate.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC_DATE_TIME));
+        writeLine(out, "DTSTART;VALUE=DATE:" + lastDateToApply.format(ICS_DATE));
+        writeLine(out, "DTEND;VALUE=DATE:" + lastDateToApply.plusDays(1).format(ICS_DATE));
+        writeLine(out, "SUMMARY:" + escapeText("Last date to apply: " + row[1]));
+        writeLine(out, "DESCRIPTION:" + escapeText("Department: " + row[2]));
+        if (applicationLink != null && !applicationLink.isEmpty()) {
+            writeLine(out, "URL:" + applicationLink);
+        }
+        writeLine(out, "BEGIN:VALARM");
+        writeLine(out, "ACTION:DISPLAY");
+        writeLine(out, "DESCRIPTION:" + escapeText("Application deadline tomorrow: " + row[1]));
+        writeLine(out, "TRIGGER:-P1D");
+        writeLine(out, "END:VALARM");
+        writeLine(out, "END:VEVENT");
+    }
+
+    // Writes a CRLF-terminated content line, folding it at 75 octets without splitting a UTF-8 sequence
+    private static void writeLine(ByteArrayOutputStream out, String line) {
+        int lineOctets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+            if (lineOctets + encoded.length > MAX_LINE_OCTETS) {
+                out.write('\r');
+                out.write('\n');
+                out.write(' ');
+                lineOctets = 1;
+            }
+            out.write(encoded, 0, encoded.length);
+            lineOctets += encoded.length;
+            i += Character.charCount(codePoint);
+        }
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static String escapeText(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private static SecretKeySpec key(String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.calendar.token-secret keys need at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return new SecretKeySpec(bytes, HMAC_ALGORITHM);
+    }
+
+    private static String sign(SecretKeySpec key, Long userId, long expiry) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM); // Mac instances are not thread-safe; creating one is cheap
+            mac.init(key);
+            byte[] signature = mac.doFinal(("calendar-feed:" + userId + ":" + expiry).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign calendar feed token", e);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.govjobtrack.service;
 
+import com.govjobtrack.payload.request.BookmarkSyncRequest;
 import com.govjobtrack.payload.response.BookmarkResponse;
+import com.govjobtrack.payload.response.BookmarkSyncResponse;
 import com.govjobtrack.payload.response.MessageResponse;
 import com.govjobtrack.security.services.UserDetailsImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface BookmarkService {
     BookmarkResponse addBookmark(Long jobId, UserDetailsImpl currentUser);
     MessageResponse removeBookmark(Long jobId, UserDetailsImpl currentUser);
     Page<BookmarkResponse> getUserBookmarks(UserDetailsImpl currentUser, Pageable pageable);
+    Map<Long, Boolean> getBookmarkStatus(List<Long> jobIds, UserDetailsImpl currentUser);
+    BookmarkSyncResponse syncBookmarks(BookmarkSyncRequest syncRequest, UserDetailsImpl currentUser);
 }
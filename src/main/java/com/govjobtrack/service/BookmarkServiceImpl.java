@@ -1,12 +1,17 @@
 package com.govjobtrack.service;
 
+import com.govjobtrack.config.CacheConfig;
 import com.govjobtrack.exception.BookmarkAlreadyExistsException;
 import com.govjobtrack.exception.BookmarkNotFoundException;
 import com.govjobtrack.exception.ResourceNotFoundException;
 import com.govjobtrack.model.Bookmark;
 import com.govjobtrack.model.Job;
 import com.govjobtrack.model.User;
+import com.govjobtrack.payload.request.BookmarkSyncOperation;
+import com.govjobtrack.payload.request.BookmarkSyncRequest;
 import com.govjobtrack.payload.response.BookmarkResponse;
+import com.govjobtrack.payload.response.BookmarkSyncResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
 import com.govjobtrack.payload.response.MessageResponse;
 import com.govjobtrack.repository.BookmarkRepository;
 import com.govjobtrack.repository.JobRepository;
@@ -15,11 +20,25 @@ import com.govjobtrack.security.services.UserDetailsImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 public class BookmarkServiceImpl implements BookmarkService {
 
@@ -34,6 +53,15 @@ public class BookmarkServiceImpl implements BookmarkService {
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @Autowired
+    private CoBookmarkIndex coBookmarkIndex;
+
     // --- Mapper method (can be moved to a dedicated mapper class later) ---
     private BookmarkResponse mapBookmarkToBookmarkResponse(Bookmark bookmark) {
         if (bookmark == null) {
@@ -51,41 +79,69 @@ public class BookmarkServiceImpl implements BookmarkService {
         );
     }
 
+    // For a freshly inserted bookmark the Job is still an uninitialized proxy; prefer the job cache over loading it
+    private BookmarkResponse mapNewBookmarkToBookmarkResponse(Bookmark bookmark) {
+        Long jobId = bookmark.getJob().getId(); // Reading the id does not initialize the proxy
+        Cache jobsCache = cacheManager.getCache(CacheConfig.JOBS_CACHE);
+        PublicJobResponse cachedJob = jobsCache != null ? jobsCache.get(jobId, PublicJobResponse.class) : null;
+        if (cachedJob == null) {
+            return mapBookmarkToBookmarkResponse(bookmark);
+        }
+        return new BookmarkResponse(
+                bookmark.getId(),
+                bookmark.getUser().getId(),
+                jobId,
+                cachedJob.getTitle(),
+                cachedJob.getDepartment(),
+                bookmark.getBookmarkedDate(),
+                cachedJob.getLastDateToApply()
+        );
+    }
+
     @Override
     @Transactional
     public BookmarkResponse addBookmark(Long jobId, UserDetailsImpl currentUserDetails) {
-        User currentUser = userRepository.findById(currentUserDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserDetails.getId()));
+        Long userId = currentUserDetails.getId();
 
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId));
+        // Reference proxies: no SELECT for User or Job, the INSERT carries only their ids.
+        // Duplicates and unknown jobs are rejected by the (user_id, job_id) unique key and the job FK.
+        Bookmark bookmark = new Bookmark(userRepository.getReferenceById(userId), jobRepository.getReferenceById(jobId));
+        // bookmarkedDate is set by @CreatedDate
 
-        if (bookmarkRepository.findByUserAndJob(currentUser, job).isPresent()) {
-            throw new BookmarkAlreadyExistsException(currentUser.getId(), job.getId());
+        Bookmark savedBookmark;
+        try {
+            savedBookmark = bookmarkRepository.saveAndFlush(bookmark);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateInsertViolation(ex, userId, jobId);
         }
+        bookmarkedJobIdsCache.onBookmarkAdded(userId, jobId);
+        coBookmarkIndex.onBookmarkAdded(userId, jobId);
+        logger.info("Bookmark created with ID: {} for User ID: {} and Job ID: {}", savedBookmark.getId(), userId, jobId);
+        return mapNewBookmarkToBookmarkResponse(savedBookmark);
+    }
 
-        Bookmark bookmark = new Bookmark(currentUser, job);
-        // bookmarkedDate is set by @CreatedDate
-
-        Bookmark savedBookmark = bookmarkRepository.save(bookmark);
-        logger.info("Bookmark created with ID: {} for User ID: {} and Job ID: {}", savedBookmark.getId(), currentUser.getId(), job.getId());
-        return mapBookmarkToBookmarkResponse(savedBookmark);
+    private RuntimeException translateInsertViolation(DataIntegrityViolationException ex, Long userId, Long jobId) {
+        String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (cause.contains(Bookmark.UNIQUE_USER_JOB)) {
+            return new BookmarkAlreadyExistsException(userId, jobId);
+        }
+        if (cause.contains(Bookmark.FK_JOB)) {
+            return new ResourceNotFoundException("Job", "id", jobId);
+        }
+        return ex;
     }
 
     @Override
     @Transactional
     public MessageResponse removeBookmark(Long jobId, UserDetailsImpl currentUserDetails) {
-        User currentUser = userRepository.findById(currentUserDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserDetails.getId()));
-
-        Job job = jobRepository.findById(jobId) // Ensure job exists, though not strictly needed if bookmark implies job exists
-                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId));
+        Long userId = currentUserDetails.getId();
 
-        Bookmark bookmark = bookmarkRepository.findByUserAndJob(currentUser, job)
-                .orElseThrow(() -> new BookmarkNotFoundException(currentUser.getId(), job.getId()));
-
-        bookmarkRepository.delete(bookmark);
-        logger.info("Bookmark for User ID: {} and Job ID: {} deleted successfully", currentUser.getId(), job.getId());
+        if (bookmarkRepository.deleteByUserIdAndJobId(userId, jobId) == 0) {
+            throw new BookmarkNotFoundException(userId, jobId);
+        }
+        bookmarkedJobIdsCache.onBookmarkRemoved(userId, jobId);
+        coBookmarkIndex.onBookmarkRemoved(userId, jobId);
+        logger.info("Bookmark for User ID: {} and Job ID: {} deleted successfully", userId, jobId);
         return new MessageResponse("Bookmark removed successfully!");
     }
 
@@ -95,8 +151,6 @@ public class BookmarkServiceImpl implements BookmarkService {
         User currentUser = userRepository.findById(currentUserDetails.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserDetails.getId()));
 
-        Page<Bookmark> bookmarksPage = bookmarkRepository.findByUser(currentUser, pageable);
-
         // Need to adjust findByUser in BookmarkRepository to accept Pageable
         // Let's assume it's: List<Bookmark> findByUser(User user);
         // If so, pagination must be handled manually or repository method updated.
@@ -111,4 +165,81 @@ public class BookmarkServiceImpl implements BookmarkService {
 
         return bookmarksPage.map(this::mapBookmarkToBookmarkResponse);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getBookmarkStatus(List<Long> jobIds, UserDetailsImpl currentUserDetails) {
+        long[] bookmarkedJobIds = bookmarkedJobIdsCache.getBookmarkedJobIds(currentUserDetails.getId());
+
+        Map<Long, Boolean> status = new LinkedHashMap<>(); // Keep request order for the client
+        for (Long jobId : jobIds) {
+            status.put(jobId, Arrays.binarySearch(bookmarkedJobIds, jobId) >= 0);
+        }
+        return status;
+    }
+
+    @Override
+    @Transactional
+    public BookmarkSyncResponse syncBookmarks(BookmarkSyncRequest syncRequest, UserDetailsImpl currentUserDetails) {
+        Long userId = currentUserDetails.getId();
+        List<BookmarkSyncOperation> operations = syncRequest.getOperations();
+
+        // Last write wins per job: collapse the queue to the operation with the latest client timestamp
+        Map<Long, BookmarkSyncOperation> latestByJob = new LinkedHashMap<>();
+        for (BookmarkSyncOperation operation : operations) {
+            latestByJob.merge(operation.getJobId(), operation, (current, candidate) ->
+                    candidate.getClientTimestamp().isBefore(current.getClientTimestamp()) ? current : candidate);
+        }
+        int ignored = operations.size() - latestByJob.size();
+
+        Map<Long, LocalDateTime> existingBookmarkDates = new HashMap<>();
+        for (Object[] row : bookmarkRepository.findBookmarkedDatesByUserIdAndJobIdIn(userId, latestByJob.keySet())) {
+            existingBookmarkDates.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        List<Long> jobIdsToAdd = new ArrayList<>();
+        List<Long> jobIdsToRemove = new ArrayList<>();
+        for (BookmarkSyncOperation operation : latestByJob.values()) {
+            LocalDateTime bookmarkedDate = existingBookmarkDates.get(operation.getJobId());
+            if (operation.getAction() == BookmarkSyncOperation.Action.ADD) {
+                if (bookmarkedDate == null) {
+                    jobIdsToAdd.add(operation.getJobId());
+                } else {
+                    ignored++;
+                }
+            } else {
+                // A bookmark created (e.g. on another device) after this offline removal wins over it
+                LocalDateTime removedAt = LocalDateTime.ofInstant(operation.getClientTimestamp(), ZoneId.systemDefault());
+                if (bookmarkedDate != null && !bookmarkedDate.isAfter(removedAt)) {
+                    jobIdsToRemove.add(operation.getJobId());
+                } else {
+                    ignored++;
+                }
+            }
+        }
+
+        // At most one INSERT and one DELETE, whatever the batch size
+        int added = jobIdsToAdd.isEmpty() ? 0 : bookmarkRepository.insertMissingBookmarks(userId, jobIdsToAdd, LocalDateTime.now());
+        int removed = jobIdsToRemove.isEmpty() ? 0 : bookmarkRepository.deleteByUserIdAndJobIdIn(userId, jobIdsToRemove);
+        ignored += (jobIdsToAdd.size() - added) + (jobIdsToRemove.size() - removed); // Unknown jobs or concurrent changes
+
+        long[] bookmarkedJobIds = BookmarkedJobIdsCache.toSortedArray(bookmarkRepository.findJobIdsByUserId(userId));
+        if (added > 0 || removed > 0) {
+            bookmarkedJobIdsCache.evict(userId);
+            // Jobs that made it into (or out of) the resulting set are the ones actually changed
+            List<Long> addedJobIds = jobIdsToAdd.stream()
+                    .filter(jobId -> Arrays.binarySearch(bookmarkedJobIds, jobId) >= 0).collect(Collectors.toList());
+            List<Long> removedJobIds = jobIdsToRemove.stream()
+                    .filter(jobId -> Arrays.binarySearch(bookmarkedJobIds, jobId) < 0).collect(Collectors.toList());
+            coBookmarkIndex.onBookmarksChanged(addedJobIds, removedJobIds, bookmarkedJobIds);
+        }
+        logger.info("Bookmark sync for User ID: {}: {} operations, {} added, {} removed, {} ignored",
+                userId, operations.size(), added, removed, ignored);
+        return new BookmarkSyncResponse(
+                BookmarkedJobIdsCache.versionOf(bookmarkedJobIds),
+                Arrays.stream(bookmarkedJobIds).boxed().collect(Collectors.toList()),
+                added,
+                removed,
+                ignored);
+    }
 }
@@ -0,0 +1,125 @@
+package com.govjobtrack.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.govjobtrack.config.CacheConfig;
+import com.govjobtrack.repository.BookmarkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-user set of bookmarked job ids, held as a sorted {@code long[]} so membership is a binary search.
+ * Arrays are never mutated in place: writers swap in a copy, so readers need no locking.
+ * Changes are applied after the surrounding transaction commits, so a rolled-back write never leaks into the cache.
+ */
+@Component
+public class BookmarkedJobIdsCache {
+
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+
+    @PostConstruct
+    public void init() {
+        CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(CacheConfig.BOOKMARKED_JOB_IDS_CACHE);
+        this.cache = caffeineCache.getNativeCache();
+    }
+
+    public long[] getBookmarkedJobIds(Long userId) {
+        return (long[]) cache.get(userId, key -> load((Long) key));
+    }
+
+    public void onBookmarkAdded(Long userId, Long jobId) {
+        afterCommit(() -> cache.asMap().computeIfPresent(userId, (key, ids) -> withJobId((long[]) ids, jobId)));
+    }
+
+    public void onBookmarkRemoved(Long userId, Long jobId) {
+        afterCommit(() -> cache.asMap().computeIfPresent(userId, (key, ids) -> withoutJobId((long[]) ids, jobId)));
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> cache.invalidate(userId));
+    }
+
+    /**
+     * Content-derived version of a sorted job id set (64-bit FNV-1a over the ids). Equal sets always share a version,
+     * so clients can compare it with the version they last saw without the server keeping a counter.
+     */
+    public static String versionOf(long[] sortedJobIds) {
+        long hash = 0xcbf29ce484222325L;
+        for (long jobId : sortedJobIds) {
+            for (int shift = 0; shift < 64; shift += 8) {
+                hash ^= (jobId >>> shift) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return Long.toHexString(hash) + "-" + sortedJobIds.length;
+    }
+
+    private long[] load(Long userId) {
+        return toSortedArray(bookmarkRepository.findJobIdsByUserId(userId));
+    }
+
+    // Expects ids already in ascending order, as returned by BookmarkRepository.findJobIdsByUserId
+    public static long[] toSortedArray(List<Long> sortedJobIds) {
+        if (sortedJobIds.isEmpty()) {
+            return EMPTY;
+        }
+        long[] sorted = new long[sortedJobIds.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = sortedJobIds.get(i);
+        }
+        return sorted;
+    }
+
+    private static long[] withJobId(long[] ids, long jobId) {
+        int index = Arrays.binarySearch(ids, jobId);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = jobId;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        return copy;
+    }
+
+    private static long[] withoutJobId(long[] ids, long jobId) {
+        int index = Arrays.binarySearch(ids, jobId);
+        if (index < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        System.arraycopy(ids, index + 1, copy, index, ids.length - index - 1);
+        return copy;
+    }
+
+    // Runs the action once the surrounding transaction commits, or immediately outside a transaction
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
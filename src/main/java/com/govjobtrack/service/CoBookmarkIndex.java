@@ -0,0 +1,179 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.repository.BookmarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory co-occurrence counts of bookmarked jobs: for each job, how many users also bookmarked each other job.
+ * Maintained incrementally from the bookmark write paths (after commit), so "also bookmarked" lookups never
+ * self-join the bookmarks table. Built once at startup from a single scan ordered by user, then compacted
+ * periodically: zero counts are dropped and each job keeps only its {@code app.recommendations.max-neighbours}
+ * strongest neighbours. Counts are approximate after pruning or concurrent rebuilds, which is fine for recommendations.
+ */
+@Component
+public class CoBookmarkIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoBookmarkIndex.class);
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    // Users with more bookmarks than this contribute no pairs: the cost is quadratic and their signal is weak
+    @Value("${app.recommendations.max-user-bookmarks:200}")
+    private int maxUserBookmarks;
+
+    @Value("${app.recommendations.max-neighbours:100}")
+    private int maxNeighbours;
+
+    private volatile Map<Long, SparseCounts> rows = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        taskScheduler.schedule(this::rebuild, Instant.now());
+    }
+
+    // Call after the bookmark is inserted; the pairs are counted once the transaction commits
+    public void onBookmarkAdded(Long userId, Long jobId) {
+        BookmarkedJobIdsCache.afterCommit(() -> applyPairs(jobId, bookmarkedJobIdsCache.getBookmarkedJobIds(userId), 1));
+    }
+
+    public void onBookmarkRemoved(Long userId, Long jobId) {
+        BookmarkedJobIdsCache.afterCommit(() -> applyPairs(jobId, bookmarkedJobIdsCache.getBookmarkedJobIds(userId), -1));
+    }
+
+    // For bulk changes (sync): pairs each added or removed job with the user's resulting bookmark set
+    public void onBookmarksChanged(Collection<Long> addedJobIds, Collection<Long> removedJobIds, long[] resultingJobIds) {
+        BookmarkedJobIdsCache.afterCommit(() -> {
+            addedJobIds.forEach(jobId -> applyPairs(jobId, resultingJobIds, 1));
+            removedJobIds.forEach(jobId -> applyPairs(jobId, resultingJobIds, -1));
+        });
+    }
+
+    public void onJobDeleted(Long jobId) {
+        // Other rows still reference the job until the next compaction; callers skip jobs that no longer exist
+        BookmarkedJobIdsCache.afterCommit(() -> rows.remove(jobId));
+    }
+
+    // Job ids most often bookmarked together with the given job, with their counts, strongest first
+    public List<Map.Entry<Long, Integer>> topCoBookmarked(Long jobId, int limit) {
+        SparseCounts row = rows.get(jobId);
+        return row == null ? Collections.emptyList() : row.top(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendations.compaction-interval-ms:3600000}",
+               initialDelayString = "${app.recommendations.compaction-interval-ms:3600000}")
+    public void compact() {
+        Map<Long, SparseCounts> current = rows;
+        int removedRows = 0;
+        for (Map.Entry<Long, SparseCounts> row : current.entrySet()) {
+            if (row.getValue().compact(maxNeighbours) == 0) {
+                current.remove(row.getKey(), row.getValue());
+                removedRows++;
+            }
+        }
+        logger.info("Compacted co-bookmark index: {} jobs, {} empty rows removed", current.size(), removedRows);
+    }
+
+    // Rebuilds from one pass over (user, job) pairs ordered by user; updates racing with it may be lost until the next rebuild
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, SparseCounts> rebuilt = new ConcurrentHashMap<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> pairs = bookmarkRepository.streamUserJobPairs()) {
+                UserJobs userJobs = new UserJobs();
+                pairs.forEach(pair -> {
+                    Long userId = (Long) pair[0];
+                    if (!userId.equals(userJobs.userId)) {
+                        userJobs.flushInto(rebuilt, maxUserBookmarks);
+                        userJobs.userId = userId;
+                    }
+                    userJobs.add((Long) pair[1]);
+                });
+                userJobs.flushInto(rebuilt, maxUserBookmarks);
+            }
+        });
+        rebuilt.values().forEach(row -> row.compact(maxNeighbours));
+        rows = rebuilt;
+        logger.info("Built co-bookmark index for {} jobs in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    private void applyPairs(Long jobId, long[] userJobIds, int delta) {
+        if (userJobIds.length > maxUserBookmarks) {
+            return;
+        }
+        Map<Long, SparseCounts> current = rows;
+        SparseCounts row = delta > 0 ? current.computeIfAbsent(jobId, id -> new SparseCounts(8)) : current.get(jobId);
+        for (long otherJobId : userJobIds) {
+            if (otherJobId == jobId) {
+                continue;
+            }
+            if (row != null) {
+                row.add(otherJobId, delta);
+            }
+            SparseCounts otherRow = delta > 0
+                    ? current.computeIfAbsent(otherJobId, id -> new SparseCounts(8))
+                    : current.get(otherJobId);
+            if (otherRow != null) {
+                otherRow.add(jobId, delta);
+            }
+        }
+    }
+
+    // Job ids of the user currently being scanned during a rebuild
+    private static final class UserJobs {
+        Long userId;
+        long[] jobIds = new long[16];
+        int size;
+
+        void add(long jobId) {
+            if (size == jobIds.length) {
+                jobIds = Arrays.copyOf(jobIds, size * 2);
+            }
+            jobIds[size++] = jobId;
+        }
+
+        void flushInto(Map<Long, SparseCounts> target, int maxUserBookmarks) {
+            if (size > 1 && size <= maxUserBookmarks) {
+                for (int i = 0; i < size; i++) {
+                    SparseCounts row = target.computeIfAbsent(jobIds[i], id -> new SparseCounts(8));
+                    for (int j = 0; j < size; j++) {
+                        if (i != j) {
+                            row.add(jobIds[j], 1);
+                        }
+                    }
+                }
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.config.CacheConfig;
+import com.govjobtrack.notification.JobDeletedEvent;
+import com.govjobtrack.repository.BookmarkRepository;
+import com.govjobtrack.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes a job together with its bookmarks. Bookmarks are removed with bulk deletes of at most
+ * {@code app.jobs.delete.chunk-size} rows, each in its own short transaction, so a popular job never holds
+ * locks on tens of thousands of rows at once; callers must not have a transaction open, or every chunk would join it.
+ * Jobs with more than {@code app.jobs.delete.async-threshold} bookmarks are deleted on a background thread; the job
+ * row goes in the same transaction as the last chunk, which also publishes the {@link JobDeletedEvent} that notifies
+ * the affected users.
+ */
+@Component
+public class JobBookmarkCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobBookmarkCleaner.class);
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @Autowired
+    private CoBookmarkIndex coBookmarkIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.jobs.delete.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.jobs.delete.async-threshold:5000}")
+    private long asyncThreshold;
+
+    @Value("${app.jobs.delete.notify-users:false}")
+    private boolean notifyUsers;
+
+    private final Set<Long> deletionsInProgress = ConcurrentHashMap.newKeySet();
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // A single worker: background deletes are rare and should not compete with each other for locks
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-bookmark-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns true if the job and its bookmarks were deleted before returning, false if the delete was
+     * handed to the background worker (or one for this job is already running).
+     */
+    public boolean deleteJob(Long jobId, String jobTitle) {
+        if (!deletionsInProgress.add(jobId)) {
+            logger.info("Deletion of job ID: {} already in progress", jobId);
+            return false;
+        }
+        long bookmarkCount = bookmarkRepository.countByJobId(jobId);
+        if (bookmarkCount <= asyncThreshold) {
+            try {
+                deleteBookmarksAndJob(jobId, jobTitle);
+            } finally {
+                deletionsInProgress.remove(jobId);
+            }
+            return true;
+        }
+
+        logger.info("Job ID: {} has {} bookmarks, deleting in the background", jobId, bookmarkCount);
+        executor.execute(() -> {
+            try {
+                deleteBookmarksAndJob(jobId, jobTitle);
+            } catch (RuntimeException e) {
+                // Chunks already deleted stay deleted; deleting the job again picks up the rest
+                logger.error("Background deletion of job ID: {} failed: {}", jobId, e.getMessage(), e);
+            } finally {
+                deletionsInProgress.remove(jobId);
+            }
+        });
+        return false;
+    }
+
+    void deleteBookmarksAndJob(Long jobId, String jobTitle) {
+        // Users of committed chunks, held until the job row itself is deleted
+        List<Long> notifiedUserIds = new ArrayList<>();
+        long removed = 0;
+        boolean jobDeleted = false;
+        while (!jobDeleted) {
+            // Rows deleted by the previous chunk are gone, so each chunk simply takes the first chunkSize
+            List<Long> userIds = transactionTemplate.execute(status -> {
+                List<Long> chunk = bookmarkRepository.findUserIdsByJobId(jobId, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    bookmarkRepository.deleteByJobIdAndUserIdIn(jobId, chunk);
+                    chunk.forEach(userId -> bookmarkedJobIdsCache.onBookmarkRemoved(userId, jobId));
+                }
+                if (chunk.size() < chunkSize) {
+                    jobRepository.deleteByIdInBulk(jobId);
+                    coBookmarkIndex.onJobDeleted(jobId);
+                    if (notifyUsers) {
+                        notifiedUserIds.addAll(chunk);
+                        if (!notifiedUserIds.isEmpty()) {
+                            eventPublisher.publishEvent(new JobDeletedEvent(jobId, jobTitle, notifiedUserIds));
+                        }
+                    }
+                }
+                return chunk;
+            });
+            jobDeleted = userIds.size() < chunkSize;
+            removed += userIds.size();
+            if (notifyUsers && !jobDeleted) {
+                notifiedUserIds.addAll(userIds);
+            }
+        }
+
+        Cache jobsCache = cacheManager.getCache(CacheConfig.JOBS_CACHE);
+        if (jobsCache != null) {
+            jobsCache.evict(jobId); // A read during a background delete may have cached the job again
+        }
+        logger.info("Job ID: {} deleted with {} bookmarks", jobId, removed);
+    }
+}
@@ -0,0 +1,48 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.Job;
+import com.govjobtrack.payload.response.JobResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
+
+// Job entity to API response mapping
+public final class JobMapper {
+
+    private JobMapper() {
+    }
+
+    // Admin responses to job writes, which include the creator
+    public static JobResponse toJobResponse(Job job) {
+        if (job == null) {
+            return null;
+        }
+        return new JobResponse(
+                job.getId(),
+                job.getTitle(),
+                job.getDepartment(),
+                job.getDescription(),
+                job.getQualification(),
+                job.getApplicationLink(),
+                job.getLastDateToApply(),
+                job.getPostedDate(),
+                job.getCreatedBy() != null ? job.getCreatedBy().getEmail() : "N/A", // Username (email)
+                job.getCreatedBy() != null ? job.getCreatedBy().getId() : null // User ID
+        );
+    }
+
+    // Public reads leave createdBy untouched, so it is never loaded for them
+    public static PublicJobResponse toPublicJobResponse(Job job) {
+        if (job == null) {
+            return null;
+        }
+        return new PublicJobResponse(
+                job.getId(),
+                job.getTitle(),
+                job.getDepartment(),
+                job.getDescription(),
+                job.getQualification(),
+                job.getApplicationLink(),
+                job.getLastDateToApply(),
+                job.getPostedDate()
+        );
+    }
+}
@@ -1,16 +1,24 @@
 package com.govjobtrack.service;
 
 import com.govjobtrack.payload.request.JobRequest;
+import com.govjobtrack.payload.response.AlsoBookmarkedJobResponse;
+import com.govjobtrack.payload.response.JobBatchResponse;
 import com.govjobtrack.payload.response.JobResponse;
 import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
 import com.govjobtrack.security.services.UserDetailsImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface JobService {
     JobResponse createJob(JobRequest jobRequest, UserDetailsImpl currentUser);
-    JobResponse getJobById(Long jobId);
-    Page<JobResponse> getAllJobs(Pageable pageable);
+    PublicJobResponse getJobById(Long jobId);
+    JobBatchResponse getJobsByIds(List<Long> jobIds);
+    Page<PublicJobResponse> getAllJobs(Pageable pageable);
+    Page<PublicJobResponse> getJobsByDepartment(String department, Pageable pageable);
+    List<AlsoBookmarkedJobResponse> getAlsoBookmarkedJobs(Long jobId, int limit);
     JobResponse updateJob(Long jobId, JobRequest jobRequest, UserDetailsImpl currentUser);
     MessageResponse deleteJob(Long jobId, UserDetailsImpl currentUser);
 }
@@ -1,23 +1,37 @@
 package com.govjobtrack.service;
 
+import com.govjobtrack.config.CacheConfig;
 import com.govjobtrack.exception.ResourceNotFoundException;
 import com.govjobtrack.model.Job;
 import com.govjobtrack.model.User;
 import com.govjobtrack.payload.request.JobRequest;
+import com.govjobtrack.payload.response.AlsoBookmarkedJobResponse;
+import com.govjobtrack.payload.response.JobBatchResponse;
 import com.govjobtrack.payload.response.JobResponse;
 import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.payload.response.PublicJobResponse;
 import com.govjobtrack.repository.JobRepository;
 import com.govjobtrack.repository.UserRepository;
 import com.govjobtrack.security.services.UserDetailsImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class JobServiceImpl implements JobService {
@@ -30,25 +44,17 @@ public class JobServiceImpl implements JobService {
     @Autowired
     private UserRepository userRepository; // To fetch the User entity for 'createdBy'
 
-    // --- Mapper method (can be moved to a dedicated mapper class later) ---
-    private JobResponse mapJobToJobResponse(Job job) {
-        if (job == null) {
-            return null;
-        }
-        return new JobResponse(
-                job.getId(),
-                job.getTitle(),
-                job.getDepartment(),
-                job.getDescription(),
-                job.getQualification(),
-                job.getApplicationLink(),
-                job.getLastDateToApply(),
-                job.getPostedDate(),
-                job.getCreatedBy() != null ? job.getCreatedBy().getEmail() : "N/A", // Username (email)
-                job.getCreatedBy() != null ? job.getCreatedBy().getId() : null // User ID
-        );
-    }
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JobBookmarkCleaner jobBookmarkCleaner;
+
+    @Autowired
+    private BookmarkCalendarService bookmarkCalendarService;
 
+    @Autowired
+    private CoBookmarkIndex coBookmarkIndex;
 
     @Override
     @Transactional
@@ -68,22 +74,100 @@ public class JobServiceImpl implements JobService {
 
         Job savedJob = jobRepository.save(job);
         logger.info("Job created with ID: {} by User ID: {}", savedJob.getId(), currentUser.getId());
-        return mapJobToJobResponse(savedJob);
+        return JobMapper.toJobResponse(savedJob);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public JobResponse getJobById(Long jobId) {
+    @Cacheable(value = CacheConfig.JOBS_CACHE, key = "#jobId")
+    public PublicJobResponse getJobById(Long jobId) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId));
-        return mapJobToJobResponse(job);
+        return JobMapper.toPublicJobResponse(job);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<JobResponse> getAllJobs(Pageable pageable) {
+    public JobBatchResponse getJobsByIds(List<Long> jobIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(jobIds); // De-duplicate, keep request order
+        Cache jobsCache = cacheManager.getCache(CacheConfig.JOBS_CACHE);
+
+        Map<Long, PublicJobResponse> found = new HashMap<>();
+        List<Long> cacheMisses = new ArrayList<>();
+        for (Long id : requestedIds) {
+            PublicJobResponse cached = jobsCache != null ? jobsCache.get(id, PublicJobResponse.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                cacheMisses.add(id);
+            }
+        }
+
+        // Resolve all cache misses with a single IN query
+        if (!cacheMisses.isEmpty()) {
+            for (Job job : jobRepository.findAllById(cacheMisses)) {
+                PublicJobResponse jobResponse = JobMapper.toPublicJobResponse(job);
+                found.put(job.getId(), jobResponse);
+                if (jobsCache != null) {
+                    jobsCache.put(job.getId(), jobResponse);
+                }
+            }
+        }
+
+        List<PublicJobResponse> jobs = new ArrayList<>(requestedIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            PublicJobResponse jobResponse = found.get(id);
+            if (jobResponse != null) {
+                jobs.add(jobResponse);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        logger.debug("Batch lookup of {} job IDs: {} from cache, {} missing", requestedIds.size(),
+                requestedIds.size() - cacheMisses.size(), missingIds.size());
+        return new JobBatchResponse(jobs, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PublicJobResponse> getAllJobs(Pageable pageable) {
         Page<Job> jobsPage = jobRepository.findAll(pageable);
-        return jobsPage.map(this::mapJobToJobResponse);
+        return jobsPage.map(JobMapper::toPublicJobResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PublicJobResponse> getJobsByDepartment(String department, Pageable pageable) {
+        Page<Job> jobsPage = jobRepository.findByDepartment(department, pageable);
+        return jobsPage.map(JobMapper::toPublicJobResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AlsoBookmarkedJobResponse> getAlsoBookmarkedJobs(Long jobId, int limit) {
+        // Over-fetch candidates: the index may still point at jobs deleted since its last compaction
+        List<Map.Entry<Long, Integer>> candidates = coBookmarkIndex.topCoBookmarked(jobId, limit * 2);
+
+        // One cache-backed batch lookup resolves the job itself and every candidate
+        List<Long> ids = new ArrayList<>(candidates.size() + 1);
+        ids.add(jobId);
+        candidates.forEach(candidate -> ids.add(candidate.getKey()));
+        JobBatchResponse batch = getJobsByIds(ids);
+        if (batch.getMissingIds().contains(jobId)) {
+            throw new ResourceNotFoundException("Job", "id", jobId);
+        }
+
+        Map<Long, PublicJobResponse> jobsById = new HashMap<>();
+        batch.getJobs().forEach(job -> jobsById.put(job.getId(), job));
+        List<AlsoBookmarkedJobResponse> related = new ArrayList<>(limit);
+        for (Map.Entry<Long, Integer> candidate : candidates) {
+            PublicJobResponse job = jobsById.get(candidate.getKey());
+            if (job != null && related.size() < limit) {
+                related.add(new AlsoBookmarkedJobResponse(job, candidate.getValue()));
+            }
+        }
+        return related;
     }
 
     @Override
@@ -112,12 +196,18 @@ public class JobServiceImpl implements JobService {
         // createdBy and postedDate should not change on update
 
         Job updatedJob = jobRepository.save(job);
+        Cache jobsCache = cacheManager.getCache(CacheConfig.JOBS_CACHE);
+        if (jobsCache != null) {
+            jobsCache.put(jobId, JobMapper.toPublicJobResponse(updatedJob)); // The cache serves public reads only
+        }
+        bookmarkCalendarService.onJobChanged(jobId); // Deadlines in subscribed calendars may have moved
         logger.info("Job ID: {} updated by User ID: {}", updatedJob.getId(), currentUser.getId());
-        return mapJobToJobResponse(updatedJob);
+        return JobMapper.toJobResponse(updatedJob);
     }
 
+    // Not transactional: JobBookmarkCleaner's chunks would join the transaction and hold every lock until the end
     @Override
-    @Transactional
+    @CacheEvict(value = CacheConfig.JOBS_CACHE, key = "#jobId")
     public MessageResponse deleteJob(Long jobId, UserDetailsImpl currentUserDetails) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId));
@@ -132,7 +222,11 @@ public class JobServiceImpl implements JobService {
         // }
         // Again, @PreAuthorize on controller handles role.
 
-        jobRepository.delete(job);
+        // Bookmarks reference the job, so they are bulk-deleted first; heavily bookmarked jobs go to the background
+        if (!jobBookmarkCleaner.deleteJob(jobId, job.getTitle())) {
+            logger.info("Job ID: {} deletion scheduled by User ID: {}", jobId, currentUser.getId());
+            return new MessageResponse("Job deletion scheduled; its bookmarks are being removed in the background.");
+        }
         logger.info("Job ID: {} deleted by User ID: {}", jobId, currentUser.getId());
         return new MessageResponse("Job deleted successfully!");
     }
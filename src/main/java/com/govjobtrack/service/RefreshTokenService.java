@@ -0,0 +1,9 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.payload.response.TokenRefreshResponse;
+
+public interface RefreshTokenService {
+    String createRefreshToken(Long userId);
+    TokenRefreshResponse refresh(String refreshToken);
+    void revoke(String refreshToken);
+}
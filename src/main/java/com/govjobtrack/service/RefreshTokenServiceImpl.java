@@ -0,0 +1,121 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.exception.TokenRefreshException;
+import com.govjobtrack.model.RefreshToken;
+import com.govjobtrack.model.RevocationReason;
+import com.govjobtrack.model.User;
+import com.govjobtrack.payload.response.TokenRefreshResponse;
+import com.govjobtrack.repository.RefreshTokenRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.jwt.UserTokenCutoffs;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserTokenCutoffs userTokenCutoffs;
+
+    @Value("${jwt.refresh-expiration.ms:1209600000}") // 14 days
+    private long refreshExpirationMs;
+
+    @Override
+    @Transactional
+    public String createRefreshToken(Long userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    // A reused token revokes its family, which must survive the rejection, hence no rollback for it
+    @Override
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public TokenRefreshResponse refresh(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not recognised"));
+        Instant now = Instant.now();
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new TokenRefreshException("Refresh token has expired, please sign in again");
+        }
+        if (token.getRevocationReason() == RevocationReason.LOGOUT || token.getRevocationReason() == RevocationReason.REUSE) {
+            throw new TokenRefreshException("Refresh token has been revoked, please sign in again");
+        }
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            // Already rotated (or lost the race to a concurrent rotation): either a replay of a leaked token
+            // or a client retry; both end the session
+            User user = token.getUser();
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now, RevocationReason.REUSE);
+            userTokenCutoffs.revokeTokensIssuedBefore(user.getId(), now);
+            logger.warn("Reuse of refresh token family {} for User ID: {}; family revoked", token.getFamilyId(), user.getId());
+            throw new TokenRefreshException("Refresh token was already used, please sign in again");
+        }
+
+        User user = token.getUser();
+        String accessToken = jwtUtils.generateJwtToken(UserDetailsImpl.build(user)); // Picks up current roles
+        return new TokenRefreshResponse(accessToken, issue(user, token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now(), RevocationReason.LOGOUT));
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        logger.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), user, familyId,
+                Instant.now().plusMillis(refreshExpirationMs)));
+        return rawToken;
+    }
+
+    // Only the digest is stored, so a leaked table cannot be replayed; 256 random bits need no salt or slow hash
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the role rows, loaded once (DataInitializer loads it after seeding the roles), so
+ * resolving a role name costs no query. Roles are reference data; if a row does change, RoleChangeListener
+ * drops the snapshot and the next lookup reloads it.
+ */
+@Component
+public class RoleRegistry {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private volatile Map<Role, RoleEntity> roles;
+
+    public RoleEntity get(Role role) {
+        RoleEntity entity = snapshot().get(role);
+        if (entity == null) {
+            throw new RuntimeException("Error: " + role + " is not found. Initialize roles in DB.");
+        }
+        return entity;
+    }
+
+    public void load() {
+        Map<Role, RoleEntity> loaded = new EnumMap<>(Role.class);
+        for (RoleEntity entity : roleRepository.findAll()) {
+            loaded.put(entity.getName(), entity);
+        }
+        roles = Map.copyOf(loaded);
+    }
+
+    // Drops the snapshot now and again once the surrounding transaction ends, committed or rolled back,
+    // so a reload in between cannot keep rows that never became visible
+    public void invalidate() {
+        roles = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    roles = null;
+                }
+            });
+        }
+    }
+
+    private Map<Role, RoleEntity> snapshot() {
+        Map<Role, RoleEntity> current = roles;
+        if (current == null) {
+            load();
+            current = roles;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,121 @@
+package com.govjobtrack.service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Open-addressing long -> int counter (linear probing, no boxing). Keys must be positive ids; 0 marks a free slot.
+ * Counts that drop to zero keep their slot until {@link #compact(int)} rebuilds the table.
+ */
+final class SparseCounts {
+
+    private long[] keys;
+    private int[] counts;
+    private int occupied;
+
+    SparseCounts(int expectedEntries) {
+        allocate(expectedEntries);
+    }
+
+    synchronized void add(long key, int delta) {
+        int slot = slotOf(keys, key);
+        if (keys[slot] == 0) {
+            if (delta <= 0) {
+                return; // Nothing to decrement, e.g. the entry was pruned
+            }
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++occupied * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            return;
+        }
+        counts[slot] = Math.max(0, counts[slot] + delta);
+    }
+
+    synchronized int get(long key) {
+        int slot = slotOf(keys, key);
+        return keys[slot] == 0 ? 0 : counts[slot];
+    }
+
+    // Highest counts first, ties broken by the smaller key so results are stable
+    synchronized List<Map.Entry<Long, Integer>> top(int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> compareSlots(b, a));
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0 && counts[slot] > 0) {
+                heap.add(slot);
+                if (heap.size() > limit) {
+                    heap.poll(); // Drop the current weakest
+                }
+            }
+        }
+        List<Map.Entry<Long, Integer>> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int slot = heap.poll();
+            top.add(new AbstractMap.SimpleImmutableEntry<>(keys[slot], counts[slot]));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    /**
+     * Drops zero counts and keeps only the {@code maxEntries} highest, shrinking the table to fit.
+     * Returns the number of entries left.
+     */
+    synchronized int compact(int maxEntries) {
+        List<Map.Entry<Long, Integer>> kept = top(maxEntries);
+        allocate(kept.size());
+        for (Map.Entry<Long, Integer> entry : kept) {
+            int slot = slotOf(keys, entry.getKey());
+            keys[slot] = entry.getKey();
+            counts[slot] = entry.getValue();
+        }
+        occupied = kept.size();
+        return occupied;
+    }
+
+    synchronized int size() {
+        return occupied;
+    }
+
+    private int compareSlots(int a, int b) {
+        if (counts[a] != counts[b]) {
+            return Integer.compare(counts[b], counts[a]);
+        }
+        return Long.compare(keys[a], keys[b]);
+    }
+
+    private void allocate(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedEntries * 2 - 1)) << 1; // Load factor <= 0.5
+        keys = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slotOf(long[] table, long key) {
+        int mask = table.length - 1;
+        long mixed = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential ids
+        int slot = (int) (mixed ^ (mixed >>> 32)) & mask;
+        while (table[slot] != 0 && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
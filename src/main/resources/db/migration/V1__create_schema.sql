@@ -0,0 +1,58 @@
+-- Schema exactly as ddl-auto=update built it before the migrations existed, Hibernate's generated constraint names
+-- included. Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate) and only
+-- receive the later migrations, so this file must not change.
+-- The long_text_type placeholder (see SchemaConfig) is LONGTEXT on MySQL and CLOB on H2, the types Hibernate expects
+-- for @Lob strings on each.
+
+CREATE TABLE bookmarks (
+    id              BIGINT      NOT NULL AUTO_INCREMENT,
+    bookmarked_date DATETIME(6) NOT NULL,
+    job_id          BIGINT      NOT NULL,
+    user_id         BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE jobs (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    application_link   VARCHAR(255),
+    department         VARCHAR(255),
+    description        ${long_text_type},
+    last_date_to_apply DATE,
+    posted_date        DATETIME(6)  NOT NULL,
+    qualification      ${long_text_type},
+    title              VARCHAR(255),
+    created_by_user_id BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE roles (
+    id   INTEGER     NOT NULL AUTO_INCREMENT,
+    name VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- role_name holds the role id (see User.roles)
+CREATE TABLE user_roles (
+    user_id   BIGINT  NOT NULL,
+    role_name INTEGER NOT NULL,
+    PRIMARY KEY (user_id, role_name)
+);
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6)  NOT NULL,
+    email      VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    password   VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE bookmarks ADD CONSTRAINT UK11qbytv984iso8qbh3nggxsjl UNIQUE (user_id, job_id);
+ALTER TABLE roles ADD CONSTRAINT UK_ofx66keruapi6vyqpv6f2or37 UNIQUE (name);
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE bookmarks ADD CONSTRAINT FKn7m2tvrmm8hq11ahswawj0kq6 FOREIGN KEY (job_id) REFERENCES jobs (id);
+ALTER TABLE bookmarks ADD CONSTRAINT FKdbsho2e05w5r13fkjqfjmge5f FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE jobs ADD CONSTRAINT FKdkxkvwics1m1weva7kq8dhwf4 FOREIGN KEY (created_by_user_id) REFERENCES users (id);
+ALTER TABLE user_roles ADD CONSTRAINT FKdcdh0gl1mdce42vy0klyio6fi FOREIGN KEY (role_name) REFERENCES roles (id);
+ALTER TABLE user_roles ADD CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,26 @@
+-- Replaces Hibernate's hashed constraint names with stable ones, which the code matches when translating insert
+-- failures (User.UNIQUE_EMAIL, Bookmark.UNIQUE_USER_JOB, Bookmark.FK_JOB) and the entities declare.
+-- DROP CONSTRAINT works for every constraint type on H2 and on MySQL 8.0.19 and later.
+-- Foreign keys go first: on MySQL the one on bookmarks.user_id is backed by the (user_id, job_id) unique index,
+-- which cannot be dropped while it is in use. MySQL keeps the indexes it created for the old foreign keys and the
+-- new ones reuse them.
+
+ALTER TABLE bookmarks DROP CONSTRAINT FKn7m2tvrmm8hq11ahswawj0kq6;
+ALTER TABLE bookmarks DROP CONSTRAINT FKdbsho2e05w5r13fkjqfjmge5f;
+ALTER TABLE jobs DROP CONSTRAINT FKdkxkvwics1m1weva7kq8dhwf4;
+ALTER TABLE user_roles DROP CONSTRAINT FKdcdh0gl1mdce42vy0klyio6fi;
+ALTER TABLE user_roles DROP CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f;
+
+ALTER TABLE bookmarks DROP CONSTRAINT UK11qbytv984iso8qbh3nggxsjl;
+ALTER TABLE roles DROP CONSTRAINT UK_ofx66keruapi6vyqpv6f2or37;
+ALTER TABLE users DROP CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7;
+
+ALTER TABLE bookmarks ADD CONSTRAINT uk_bookmarks_user_job UNIQUE (user_id, job_id);
+ALTER TABLE roles ADD CONSTRAINT uk_roles_name UNIQUE (name);
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+
+ALTER TABLE bookmarks ADD CONSTRAINT fk_bookmarks_job FOREIGN KEY (job_id) REFERENCES jobs (id);
+ALTER TABLE bookmarks ADD CONSTRAINT fk_bookmarks_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE jobs ADD CONSTRAINT fk_jobs_created_by FOREIGN KEY (created_by_user_id) REFERENCES users (id);
+ALTER TABLE user_roles ADD CONSTRAINT fk_user_roles_role FOREIGN KEY (role_name) REFERENCES roles (id);
+ALTER TABLE user_roles ADD CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id);
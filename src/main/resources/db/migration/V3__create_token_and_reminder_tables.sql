@@ -0,0 +1,33 @@
+-- Tables added since the V1 schema: refresh token families, revoked access token ids and reminder run checkpoints
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    used_at    DATETIME(6),
+    user_id    BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (token_id)
+);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE TABLE reminder_checkpoints (
+    run_date         DATE        NOT NULL,
+    completed        BIT         NOT NULL,
+    last_bookmark_id BIGINT      NOT NULL,
+    last_job_id      BIGINT      NOT NULL,
+    reminders_sent   BIGINT      NOT NULL,
+    updated_at       DATETIME(6),
+    PRIMARY KEY (run_date)
+);
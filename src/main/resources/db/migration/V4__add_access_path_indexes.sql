@@ -0,0 +1,24 @@
+-- One index per access path that the primary keys and unique constraints do not already serve.
+-- InnoDB appends the primary key to every secondary index, so (x) also orders ties by id.
+-- Declared on the entities too (@Table indexes), so schemas generated from the mappings match.
+
+-- GET /api/jobs pages sort by posted_date (JobController's default sort)
+CREATE INDEX idx_jobs_posted_date ON jobs (posted_date);
+
+-- Department listings, newest first
+CREATE INDEX idx_jobs_department_posted_date ON jobs (department, posted_date);
+
+-- Deadline reminders: jobs closing within a date range, walked by id (BookmarkRepository.findDeadlineRemindersAfter)
+CREATE INDEX idx_jobs_last_date_to_apply ON jobs (last_date_to_apply, id);
+
+-- A user's bookmarks page, sorted by bookmarked_date (BookmarkController's default sort).
+-- Lookups by (user_id, job_id) and the co-bookmark scan use uk_bookmarks_user_job.
+CREATE INDEX idx_bookmarks_user_bookmarked_date ON bookmarks (user_id, bookmarked_date);
+
+-- Bookmarks of one job: countByJobId, findUserIdsByJobId (ordered by user_id), chunked deletes and the reminder join.
+-- Covers those queries without touching rows; also serves fk_bookmarks_job.
+CREATE INDEX idx_bookmarks_job_user ON bookmarks (job_id, user_id);
+
+-- Expiry purges (deleteExpired) and loading the revocations still in force (findByExpiresAtAfter)
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,13 @@
+-- Why a refresh token was revoked, so a refresh after logout is not mistaken for reuse of a rotated token.
+-- Tokens used before this column existed were rotated or revoked alike; ROTATED keeps their old handling.
+ALTER TABLE refresh_tokens ADD COLUMN revocation_reason VARCHAR(16);
+UPDATE refresh_tokens SET revocation_reason = 'ROTATED' WHERE used_at IS NOT NULL;
+
+-- Per-user access token cut-offs (UserTokenCutoffs), shared between instances like revoked_tokens.
+-- No foreign key: rows outlive nothing but the access tokens they reject and are purged after that.
+CREATE TABLE user_token_cutoffs (
+    user_id   BIGINT      NOT NULL,
+    cutoff_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+);
+CREATE INDEX idx_user_token_cutoffs_cutoff_at ON user_token_cutoffs (cutoff_at);
@@ -0,0 +1,68 @@
+package com.govjobtrack.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A database built by the former ddl-auto=update: baselined at V1, upgraded by the later migrations, and the context
+// starts only if Hibernate then validates the mappings against it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"})
+public class LegacySchemaUpgradeTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class LegacySchema {
+
+        // Creates the old schema in the empty database right before Flyway runs against it
+        @Bean
+        FlywayMigrationStrategy migrateFromLegacySchema() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/legacy_update_schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Test
+    void laterMigrationsApplyOnTopOfTheBaseline() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" || ':' || \"type\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+        assertThat(versions).containsExactly("1:BASELINE", "2:SQL", "3:SQL", "4:SQL", "5:SQL");
+    }
+
+    @Test
+    void hashedConstraintNamesAreReplaced() {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT LOWER(CONSTRAINT_NAME) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE CONSTRAINT_TYPE IN ('UNIQUE', 'FOREIGN KEY')",
+                String.class);
+        assertThat(constraints).containsExactlyInAnyOrder(
+                "uk_bookmarks_user_job", "uk_roles_name", "uk_users_email", "uk_refresh_tokens_hash",
+                "fk_bookmarks_job", "fk_bookmarks_user", "fk_jobs_created_by", "fk_user_roles_role", "fk_user_roles_user",
+                "fk_refresh_tokens_user");
+    }
+
+    @Test
+    void existingRowsSurvive() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookmarks b JOIN jobs j ON j.id = b.job_id JOIN users u ON u.id = b.user_id WHERE u.email = 'legacy@test.com'",
+                Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.govjobtrack.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Properties.class);
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class Properties {
+    }
+
+    @Test
+    void defaults_bind() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void zeroCapacity_failsAtStartup() {
+        contextRunner.withPropertyValues("app.rate-limit.rules[0].pattern=/api/**", "app.rate-limit.rules[0].capacity=0")
+                .run(context -> assertThat(context).getFailure().hasStackTraceContaining("rules[0].capacity"));
+    }
+
+    @Test
+    void zeroPeriod_failsAtStartup() {
+        contextRunner.withPropertyValues("app.rate-limit.rules[0].pattern=/api/**", "app.rate-limit.rules[0].capacity=5",
+                        "app.rate-limit.rules[0].period=0s")
+                .run(context -> assertThat(context).getFailure().hasStackTraceContaining("rules[0].period"));
+    }
+
+    @Test
+    void zeroSigninPerAccountCapacity_failsAtStartup() {
+        contextRunner.withPropertyValues("app.rate-limit.signin-per-account.capacity=0")
+                .run(context -> assertThat(context).getFailure().hasStackTraceContaining("app.rate-limit.signin-per-account"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.govjobtrack.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database, built only by the migrations; the context starts only if Hibernate validates the mappings against it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+public class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsApplyInOrder() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+        assertThat(versions).containsExactly("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    void accessPathIndexesExist() {
+        assertThat(indexNames("jobs")).contains(
+                "idx_jobs_posted_date", "idx_jobs_department_posted_date", "idx_jobs_last_date_to_apply");
+        assertThat(indexNames("bookmarks")).contains(
+                "idx_bookmarks_user_bookmarked_date", "idx_bookmarks_job_user");
+        assertThat(indexNames("refresh_tokens")).contains("idx_refresh_tokens_expires_at", "idx_refresh_tokens_family");
+        assertThat(indexNames("revoked_tokens")).contains("idx_revoked_tokens_expires_at", "idx_revoked_tokens_revoked_at");
+        assertThat(indexNames("user_token_cutoffs")).contains("idx_user_token_cutoffs_cutoff_at");
+    }
+
+    @Test
+    void jobPagesReadThePostedDateIndex() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM jobs ORDER BY posted_date LIMIT 10", String.class);
+        assertThat(plan.toLowerCase()).contains("idx_jobs_posted_date");
+    }
+
+    @Test
+    void constraintNamesMatchTheOnesTheCodeTranslates() {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT LOWER(CONSTRAINT_NAME) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS", String.class);
+        assertThat(constraints).contains("uk_users_email", "uk_bookmarks_user_job", "fk_bookmarks_job", "uk_refresh_tokens_hash");
+    }
+
+    private List<String> indexNames(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(TABLE_NAME) = ?", String.class, table);
+    }
+}
@@ -0,0 +1,42 @@
+package com.govjobtrack.config;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers pinning the SQL a request may issue, e.g.
+ * {@code mockMvc.perform(get("/api/jobs")).andExpect(SqlStatementBudget.atMost(2))}.
+ * Reads the stats SqlStatementCountingFilter leaves on the request.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static SqlStatementStats statsOf(MvcResult result) {
+        SqlStatementStats stats = (SqlStatementStats) result.getRequest().getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertThat(stats).as("SQL statement stats (is SqlStatementCountingFilter registered?)").isNotNull();
+        return stats;
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            SqlStatementStats stats = statsOf(result);
+            assertThat(stats.getStatementCount())
+                    .as("SQL statements issued, by shape: %s", stats.getCountsByShape())
+                    .isLessThanOrEqualTo(statements);
+        };
+    }
+
+    // Fails on N+1 loads: no statement shape may run more than the given number of times
+    public static ResultMatcher noStatementRepeatedMoreThan(int times) {
+        return result -> {
+            SqlStatementStats stats = statsOf(result);
+            assertThat(stats.getMostRepeatedCount())
+                    .as("Repetitions of: %s", stats.getMostRepeatedShape())
+                    .isLessThanOrEqualTo(times);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.govjobtrack.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatementStatsTest {
+
+    private final SqlStatementListener listener = new SqlStatementListener();
+
+    @Test
+    void groupsStatementsByShape_collapsingInLists() {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            listener.inspect("select u.id from users u where u.id=?");
+            listener.inspect("select u.id from users u where u.id=?");
+            listener.inspect("select u.id from users u where u.id=?");
+            listener.inspect("select j.id from jobs j where j.id in (? , ?)");
+            listener.inspect("select j.id from jobs j where j.id in (?, ?, ?)");
+        } finally {
+            SqlStatementStats.stop();
+        }
+
+        assertThat(stats.getStatementCount()).isEqualTo(5);
+        assertThat(stats.getMostRepeatedCount()).isEqualTo(3);
+        assertThat(stats.getMostRepeatedShape()).isEqualTo("select u.id from users u where u.id=?");
+        assertThat(stats.getCountsByShape()).containsEntry("select j.id from jobs j where j.id in (?)", 2);
+    }
+
+    @Test
+    void nestedCountingRestoresOuterStats() {
+        SqlStatementStats outer = SqlStatementStats.start();
+        try {
+            SqlStatementStats inner = SqlStatementStats.start();
+            listener.inspect("select 1");
+            assertThat(SqlStatementStats.stop()).isSameAs(inner);
+            listener.inspect("select 2");
+
+            assertThat(inner.getStatementCount()).isEqualTo(1);
+            assertThat(outer.getStatementCount()).isEqualTo(1);
+        } finally {
+            SqlStatementStats.stop();
+        }
+        listener.inspect("select 3"); // Not counting any more
+        assertThat(outer.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void accumulatesExecutionTime() {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            listener.jdbcExecuteStatementEnd(); // Unpaired end is ignored
+        } finally {
+            SqlStatementStats.stop();
+        }
+
+        assertThat(stats.getDbTimeNanos()).isPositive();
+    }
+}
@@ -0,0 +1,73 @@
+package com.govjobtrack.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own in-memory database, so the generated rows never reach the contexts other tests share
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datagen.users=300",
+        "app.datagen.admins=3",
+        "app.datagen.jobs=200",
+        "app.datagen.bookmarks=3000",
+        "app.datagen.batch-size=64",
+        "app.datagen.reference-date=2024-06-01",
+        "app.datagen.exit-when-done=false"})
+@ActiveProfiles("datagen")
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loadsConfiguredVolumes() {
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM user_roles")).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM user_roles ur JOIN roles r ON r.id = ur.role_name WHERE r.name = 'ROLE_ADMIN'"))
+                .isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM jobs")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM bookmarks")).isBetween(2000L, 4000L);
+    }
+
+    @Test
+    void bookmarksFavourPopularJobs() {
+        List<Long> perJob = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM bookmarks GROUP BY job_id ORDER BY COUNT(*) DESC", Long.class);
+        long total = perJob.stream().mapToLong(Long::longValue).sum();
+        long topTwo = perJob.get(0) + perJob.get(1); // Top 1% of 200 jobs
+        assertThat(topTwo * 10).isGreaterThan(total); // Over a tenth of all bookmarks; uniform would give 1%
+    }
+
+    @Test
+    void rowsAreReproducibleFromTheSeed() {
+        Object[] row = generator.jobRow(17);
+        assertThat(generator.jobRow(17)).isEqualTo(row);
+
+        Long id = (Long) row[0];
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM jobs WHERE id = ?", String.class, id)).isEqualTo(row[1]);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM jobs WHERE id = ?", String.class, id)).isEqualTo(row[3]);
+    }
+
+    @Test
+    void identitiesContinueAfterGeneratedIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM jobs", Long.class);
+        jdbcTemplate.update("INSERT INTO jobs (title, department, description, qualification, last_date_to_apply, "
+                + "posted_date, created_by_user_id) SELECT 'New', 'Dept', 'Desc', 'Qual', CURRENT_DATE, CURRENT_TIMESTAMP, MIN(id) FROM users");
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(id) FROM jobs", Long.class)).isEqualTo(maxId + 1);
+        jdbcTemplate.update("DELETE FROM jobs WHERE id = ?", maxId + 1);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
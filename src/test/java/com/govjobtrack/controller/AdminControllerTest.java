@@ -0,0 +1,137 @@
+package com.govjobtrack.controller;
+
+import com.govjobtrack.config.SlowQueryLog;
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.payload.response.SlowQueryResponse;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.jwt.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A zero threshold makes every statement slow
+@SpringBootTest(properties = "app.sql.slow-query.threshold-ms=0")
+@AutoConfigureMockMvc
+@Transactional
+public class AdminControllerTest {
+
+    private static final String SLOW_SHAPE = "SELECT id FROM jobs WHERE department = ? AND id IN (?)";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+        adminToken = tokenFor("slow.admin@test.com", Role.ROLE_ADMIN);
+        userToken = tokenFor("slow.user@test.com", Role.ROLE_USER);
+    }
+
+    @Test
+    void slowQueries_listsShapeWithBindTypesAndExplain() throws Exception {
+        jdbcTemplate.queryForList("SELECT id FROM jobs WHERE department = ? AND id IN (?, ?, ?)", Long.class, "Dept", 1L, 2L, 3L);
+        jdbcTemplate.queryForList("SELECT id FROM jobs WHERE department = ? AND id IN (?)", Long.class, "Other", 4L);
+
+        SlowQueryResponse slow = awaitExplained(SLOW_SHAPE);
+        assertThat(slow.getCount()).isEqualTo(2); // Both IN list lengths share one shape
+        assertThat(slow.getBindShape()).isEqualTo("String, Long");
+        assertThat(slow.getExplain()).isNotEmpty().noneMatch(line -> line.startsWith("EXPLAIN failed"));
+
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "100").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].shape", hasItem(SLOW_SHAPE)));
+    }
+
+    @Test
+    void slowQueries_streamedParameter_notExplained() {
+        String sql = "SELECT id FROM jobs WHERE description = ?";
+        jdbcTemplate.query(sql, statement -> statement.setCharacterStream(1, new StringReader("Streamed")),
+                (row, index) -> row.getLong(1));
+
+        assertThat(slowQueryLog.top(100)).filteredOn(query -> query.getShape().equals(sql))
+                .singleElement()
+                .satisfies(query -> assertThat(query.getExplain()).singleElement().asString().startsWith("EXPLAIN skipped"));
+    }
+
+    @Test
+    void clearSlowQueries_emptiesTheLog() throws Exception {
+        jdbcTemplate.queryForList("SELECT id FROM jobs WHERE department = ? AND id IN (?)", Long.class, "Dept", 1L);
+
+        mockMvc.perform(delete("/api/admin/slow-queries").header("Authorization", adminToken))
+                .andExpect(status().isOk());
+
+        assertThat(slowQueryLog.top(100)).noneMatch(query -> query.getShape().equals(SLOW_SHAPE));
+    }
+
+    @Test
+    void slowQueries_asUser_forbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void slowQueries_anonymous_unauthorized() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // EXPLAIN runs in the background
+    private SlowQueryResponse awaitExplained(String shape) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Optional<SlowQueryResponse> query = slowQueryLog.top(100).stream()
+                    .filter(candidate -> candidate.getShape().equals(shape))
+                    .findFirst();
+            if (query.isPresent() && !query.get().getExplain().isEmpty()) {
+                return query.get();
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("No EXPLAIN for " + shape + " in " + slowQueryLog.top(100));
+    }
+
+    private String tokenFor(String email, Role role) {
+        RoleEntity roleEntity = roleRepository.findByName(role)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(role)));
+        User user = new User("Slow", "Query", email, "password");
+        user.setRoles(Collections.singleton(roleEntity));
+        userRepository.save(user);
+        return "Bearer " + jwtUtils.generateTokenFromEmail(email);
+    }
+}
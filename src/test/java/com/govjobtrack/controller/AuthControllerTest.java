@@ -6,10 +6,15 @@ import com.govjobtrack.model.RoleEntity;
 import com.govjobtrack.model.User;
 import com.govjobtrack.payload.request.LoginRequest;
 import com.govjobtrack.payload.request.SignupRequest;
+import com.govjobtrack.payload.request.TokenRefreshRequest;
 import com.govjobtrack.payload.response.JwtResponse;
 import com.govjobtrack.payload.response.MessageResponse;
 import com.govjobtrack.repository.RoleRepository;
 import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.repository.UserTokenCutoffRepository;
+import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import com.govjobtrack.security.services.UserDetailsServiceImpl;
 import com.govjobtrack.service.AuthService; // We might mock this or use the real one
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,11 +22,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean; // Option to mock service
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 import java.util.HashSet;
@@ -30,7 +40,9 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,6 +67,18 @@ public class AuthControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserTokenCutoffRepository userTokenCutoffRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private UserDetailsServiceImpl userDetailsService;
+
     // OR if we want to mock the service layer:
     // @MockBean
     // private AuthService authService;
@@ -233,4 +257,205 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.error").value("Unauthorized"))
                 .andExpect(jsonPath("$.message").value("Bad credentials")); // DaoAuthenticationProvider also throws BadCredentials for user not found to prevent username enumeration
     }
+
+    @Test
+    void authenticateUser_userLookupFails_serviceUnavailable() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(userDetailsService).loadUserByUsername("outage.user@example.com");
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("outage.user@example.com");
+        loginRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Sign-in is temporarily unavailable"));
+    }
+
+    @Test
+    void authenticateUser_outdatedHashCost_rehashedOnLogin() throws Exception {
+        // Stored with a lower cost than the configured one, as after raising app.security.bcrypt.strength
+        User user = new User("Legacy", "Hash", "legacy.hash@example.com", new BCryptPasswordEncoder(4).encode("password123"));
+        user.setRoles(Set.of(roleRepository.findByName(Role.ROLE_USER).get()));
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("legacy.hash@example.com");
+        loginRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByEmail("legacy.hash@example.com").get().getPassword();
+        assertThat(storedHash).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("password123", storedHash)).isTrue();
+
+        // The next login verifies against the upgraded hash
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshToken_rotatesAndRejectsReuse() throws Exception {
+        JwtResponse login = signIn("refresh.user@example.com");
+        assertThat(login.getRefreshToken()).isNotBlank();
+
+        MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.type").value("Bearer"))
+                .andReturn();
+        String rotated = objectMapper.readTree(refreshed.getResponse().getContentAsString()).get("refreshToken").asText();
+        assertThat(rotated).isNotEqualTo(login.getRefreshToken());
+
+        // Replaying the used token is treated as theft: it fails and takes its successor down with it
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(rotated)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshToken_unknownToken_unauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody("not-a-refresh-token")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_revokesAccessAndRefreshTokens() throws Exception {
+        JwtResponse login = signIn("logout.user@example.com");
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + login.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + login.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + login.getToken()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshAfterLogout_rejectedWithoutSigningOutOtherSessions() throws Exception {
+        JwtResponse loggedOut = signIn("two.sessions@example.com");
+        JwtResponse other = login("two.sessions@example.com");
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + loggedOut.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(loggedOut.getRefreshToken())))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(loggedOut.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+
+        // A logged-out token is not a reused one, so the other device keeps its session
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + other.getToken()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(other.getRefreshToken())))
+                .andExpect(status().isOk());
+        assertThat(userTokenCutoffRepository.existsById(loggedOut.getId())).isFalse();
+    }
+
+    @Test
+    void refreshTokenReuse_persistsTheUserCutoff() throws Exception {
+        JwtResponse login = signIn("reused.user@example.com");
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(login.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+
+        // Stored, so other instances pick it up on their next sync
+        assertThat(userTokenCutoffRepository.existsById(login.getId())).isTrue();
+    }
+
+    @Test
+    void roleChange_rejectsAccessTokensIssuedBefore() throws Exception {
+        JwtResponse before = signIn("promoted.user@example.com");
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10); // iat has second precision
+
+        User user = userRepository.findByEmail("promoted.user@example.com").get();
+        user.getRoles().add(roleRepository.findByName(Role.ROLE_ADMIN).get());
+        userRepository.save(user);
+
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + before.getToken()))
+                .andExpect(status().isUnauthorized());
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10); // The cut-off covers the whole commit second
+        JwtResponse after = login("promoted.user@example.com");
+        assertThat(after.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + after.getToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void roleChange_rejectsTokensIssuedBeforeTheCommit() throws Exception {
+        User admin = new User("Token", "User", "demoted.admin@example.com", passwordEncoder.encode("password123"));
+        admin.setRoles(new HashSet<>(Set.of(roleRepository.findByName(Role.ROLE_USER).get(),
+                roleRepository.findByName(Role.ROLE_ADMIN).get())));
+        userRepository.save(admin);
+
+        // A sign-in that read the roles before the demotion committed, and was issued after its flush
+        String issuedInBetween = new TransactionTemplate(transactionManager).execute(status -> {
+            User user = userRepository.findByEmail("demoted.admin@example.com").get();
+            UserDetailsImpl oldRoles = UserDetailsImpl.build(user);
+            user.getRoles().removeIf(role -> role.getName() == Role.ROLE_ADMIN);
+            userRepository.saveAndFlush(user);
+            return jwtUtils.generateJwtToken(oldRoles);
+        });
+
+        mockMvc.perform(get("/api/bookmarks/mybookmarks").header("Authorization", "Bearer " + issuedInBetween))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private JwtResponse signIn(String email) throws Exception {
+        User user = new User("Token", "User", email, passwordEncoder.encode("password123"));
+        user.setRoles(Set.of(roleRepository.findByName(Role.ROLE_USER).get()));
+        userRepository.save(user);
+        return login(email);
+    }
+
+    private JwtResponse login(String email) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword("password123");
+        MvcResult result = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), JwtResponse.class);
+    }
+
+    private String refreshBody(String refreshToken) throws Exception {
+        TokenRefreshRequest request = new TokenRefreshRequest();
+        request.setRefreshToken(refreshToken);
+        return objectMapper.writeValueAsString(request);
+    }
 }
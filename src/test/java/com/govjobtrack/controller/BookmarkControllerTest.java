@@ -3,6 +3,8 @@ package com.govjobtrack.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.govjobtrack.model.*; // Job, User, RoleEntity, Bookmark
+import com.govjobtrack.payload.request.BookmarkSyncOperation;
+import com.govjobtrack.payload.request.BookmarkSyncRequest;
 import com.govjobtrack.repository.BookmarkRepository;
 import com.govjobtrack.repository.JobRepository;
 import com.govjobtrack.repository.RoleRepository;
@@ -16,13 +18,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -70,6 +77,7 @@ public class BookmarkControllerTest {
         jobRepository.deleteAll();
         userRepository.deleteAll();
         roleRepository.deleteAll();
+        roleRepository.flush();
 
         RoleEntity adminRole = roleRepository.save(new RoleEntity(Role.ROLE_ADMIN));
         RoleEntity userRole = roleRepository.save(new RoleEntity(Role.ROLE_USER));
@@ -168,7 +176,9 @@ public class BookmarkControllerTest {
         bookmarkRepository.save(new Bookmark(regularUser, testJob2));
 
         // Another user's bookmark, should not appear
-        User otherUser = userRepository.save(new User("Other", "User", "other@test.com", passwordEncoder.encode("password"), Collections.singleton(roleRepository.findByName(Role.ROLE_USER).get())));
+        User otherUser = new User("Other", "User", "other@test.com", passwordEncoder.encode("password"));
+        otherUser.setRoles(Collections.singleton(roleRepository.findByName(Role.ROLE_USER).get()));
+        userRepository.save(otherUser);
         Job otherJob = jobRepository.save(new Job(null, "Job Gamma", "Dept Gamma", "Desc C", "Qual C", null, LocalDate.now().plusDays(30), null, adminUser));
         bookmarkRepository.save(new Bookmark(otherUser, otherJob));
 
@@ -183,6 +193,78 @@ public class BookmarkControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2));
     }
 
+    @Test
+    void getBookmarkStatus_asUser_flagsBookmarkedJobs() throws Exception {
+        bookmarkRepository.save(new Bookmark(regularUser, testJob1));
+
+        mockMvc.perform(get("/api/bookmarks/contains?jobIds=" + testJob1.getId() + "," + testJob2.getId())
+                        .header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + testJob1.getId() + "']").value(true))
+                .andExpect(jsonPath("$['" + testJob2.getId() + "']").value(false));
+    }
+
+    @Test
+    void getBookmarkStatus_nullJobId_badRequest() throws Exception {
+        mockMvc.perform(get("/api/bookmarks/contains?jobIds=" + testJob1.getId() + ",," + testJob2.getId())
+                        .header("Authorization", userToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation Failed"));
+    }
+
+    @Test
+    void syncBookmarks_asUser_appliesLatestOperationPerJob() throws Exception {
+        bookmarkRepository.save(new Bookmark(regularUser, testJob2));
+        Instant now = Instant.now();
+
+        BookmarkSyncRequest syncRequest = new BookmarkSyncRequest();
+        syncRequest.setOperations(List.of(
+                syncOperation(testJob1.getId(), BookmarkSyncOperation.Action.REMOVE, now.minusSeconds(60)),
+                syncOperation(testJob1.getId(), BookmarkSyncOperation.Action.ADD, now.minusSeconds(30)), // Latest for job 1 wins
+                syncOperation(testJob2.getId(), BookmarkSyncOperation.Action.REMOVE, now.plusSeconds(5)),
+                syncOperation(99999L, BookmarkSyncOperation.Action.ADD, now))); // Unknown job is ignored
+
+        mockMvc.perform(post("/api/bookmarks/sync")
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(syncRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(1))
+                .andExpect(jsonPath("$.removed").value(1))
+                .andExpect(jsonPath("$.ignored").value(2))
+                .andExpect(jsonPath("$.bookmarkedJobIds.length()").value(1))
+                .andExpect(jsonPath("$.bookmarkedJobIds[0]").value(testJob1.getId()))
+                .andExpect(jsonPath("$.version").isNotEmpty());
+
+        assertThat(bookmarkRepository.findJobIdsByUserId(regularUser.getId())).containsExactly(testJob1.getId());
+    }
+
+    @Test
+    void syncBookmarks_staleRemoval_doesNotDeleteNewerBookmark() throws Exception {
+        bookmarkRepository.save(new Bookmark(regularUser, testJob1));
+
+        BookmarkSyncRequest syncRequest = new BookmarkSyncRequest();
+        syncRequest.setOperations(List.of(
+                syncOperation(testJob1.getId(), BookmarkSyncOperation.Action.REMOVE, Instant.now().minusSeconds(3600))));
+
+        mockMvc.perform(post("/api/bookmarks/sync")
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(syncRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value(0))
+                .andExpect(jsonPath("$.ignored").value(1))
+                .andExpect(jsonPath("$.bookmarkedJobIds[0]").value(testJob1.getId()));
+    }
+
+    private BookmarkSyncOperation syncOperation(Long jobId, BookmarkSyncOperation.Action action, Instant clientTimestamp) {
+        BookmarkSyncOperation operation = new BookmarkSyncOperation();
+        operation.setJobId(jobId);
+        operation.setAction(action);
+        operation.setClientTimestamp(clientTimestamp);
+        return operation;
+    }
+
     @Test
     void getUserBookmarks_asUser_noBookmarks() throws Exception {
         mockMvc.perform(get("/api/bookmarks/mybookmarks")
@@ -192,4 +274,41 @@ public class BookmarkControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(0))
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
+
+    @Test
+    void getCalendarFeed_withSignedToken_returnsDeadlinesAndHonoursEtag() throws Exception {
+        bookmarkRepository.save(new Bookmark(regularUser, testJob1));
+        bookmarkRepository.save(new Bookmark(regularUser, testJob2));
+
+        String tokenJson = mockMvc.perform(get("/api/bookmarks/calendar/token")
+                        .header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.feedUrl").value(containsString("/api/bookmarks/calendar.ics?token=")))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(tokenJson).get("token").asText();
+
+        MvcResult feed = mockMvc.perform(get("/api/bookmarks/calendar.ics").param("token", token)) // No Authorization header
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String ics = feed.getResponse().getContentAsString();
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains("UID:job-" + testJob1.getId() + "@govjobtrack", "UID:job-" + testJob2.getId() + "@govjobtrack");
+        assertThat(ics).contains("DTSTART;VALUE=DATE:" + testJob1.getLastDateToApply().format(DateTimeFormatter.BASIC_ISO_DATE));
+        assertThat(ics.indexOf("Job Alpha")).isLessThan(ics.indexOf("Job Beta")); // Ordered by deadline
+
+        mockMvc.perform(get("/api/bookmarks/calendar.ics").param("token", token)
+                        .header("If-None-Match", feed.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCalendarFeed_withTamperedToken_forbidden() throws Exception {
+        mockMvc.perform(get("/api/bookmarks/calendar.ics").param("token", regularUser.getId() + ".forged"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/bookmarks/calendar.ics").param("token", "not-a-token"))
+                .andExpect(status().isForbidden());
+    }
 }
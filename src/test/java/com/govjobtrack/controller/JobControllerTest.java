@@ -3,10 +3,13 @@ package com.govjobtrack.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.govjobtrack.config.SqlStatementBudget;
+import com.govjobtrack.exception.ErrorLogSampler;
 import com.govjobtrack.model.Job;
 import com.govjobtrack.model.Role;
 import com.govjobtrack.model.RoleEntity;
 import com.govjobtrack.model.User;
+import com.govjobtrack.payload.request.JobBatchRequest;
 import com.govjobtrack.payload.request.JobRequest;
 import com.govjobtrack.payload.response.JobResponse;
 import com.govjobtrack.repository.JobRepository;
@@ -26,12 +29,17 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -61,6 +69,12 @@ public class JobControllerTest {
     @Autowired
     private JwtUtils jwtUtils; // To generate tokens
 
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private String adminToken;
     private String userToken;
     private User adminUser;
@@ -73,6 +87,7 @@ public class JobControllerTest {
         jobRepository.deleteAll();
         userRepository.deleteAll();
         roleRepository.deleteAll();
+        roleRepository.flush();
 
         RoleEntity adminRole = roleRepository.save(new RoleEntity(Role.ROLE_ADMIN));
         RoleEntity userRole = roleRepository.save(new RoleEntity(Role.ROLE_USER));
@@ -179,6 +194,78 @@ public class JobControllerTest {
         // assertThat(pageResponse.getContent()).hasSize(1);
     }
 
+    @Test
+    void getAllJobs_byDepartment_listsOnlyThatDepartment() throws Exception {
+        jobRepository.save(new Job(null, "Railway Clerk", "Railways", "D1", "Q1", null, LocalDate.now().plusDays(1), null, adminUser));
+        jobRepository.save(new Job(null, "Postal Assistant", "Postal", "D2", "Q2", null, LocalDate.now().plusDays(2), null, adminUser));
+        jobRepository.save(new Job(null, "Station Master", "Railways", "D3", "Q3", null, LocalDate.now().plusDays(3), null, adminUser));
+
+        mockMvc.perform(get("/api/jobs").param("department", "Railways").param("sort", "title,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Railway Clerk"))
+                .andExpect(jsonPath("$.content[1].title").value("Station Master"));
+    }
+
+    @Test
+    void getJobsByIds_preservesRequestOrderAndReportsMissing() throws Exception {
+        Job job1 = jobRepository.save(new Job(null, "Batch Job 1", "Dept A", "D1", "Q1", null, LocalDate.now().plusDays(1), null, adminUser));
+        Job job2 = jobRepository.save(new Job(null, "Batch Job 2", "Dept B", "D2", "Q2", null, LocalDate.now().plusDays(2), null, adminUser));
+
+        mockMvc.perform(get("/api/jobs/batch?ids=" + job2.getId() + ",7777," + job1.getId())
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs.length()").value(2))
+                .andExpect(jsonPath("$.jobs[0].id").value(job2.getId()))
+                .andExpect(jsonPath("$.jobs[1].id").value(job1.getId()))
+                .andExpect(jsonPath("$.missingIds[0]").value(7777));
+    }
+
+    @Test
+    void getJobsByIds_post_success() throws Exception {
+        Job job1 = jobRepository.save(new Job(null, "Posted Batch Job", "Dept A", "D1", "Q1", null, LocalDate.now().plusDays(1), null, adminUser));
+
+        JobBatchRequest batchRequest = new JobBatchRequest();
+        batchRequest.setIds(List.of(job1.getId(), job1.getId(), 6666L)); // Duplicates are collapsed
+
+        mockMvc.perform(post("/api/jobs/batch")
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs.length()").value(1))
+                .andExpect(jsonPath("$.jobs[0].title").value("Posted Batch Job"))
+                .andExpect(jsonPath("$.missingIds.length()").value(1));
+    }
+
+    @Test
+    void getJobsByIds_tooManyIdsInQuery_badRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/jobs/batch?ids=" + ids)
+                        .header("Authorization", userToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getJobsByIds_nullIdInQuery_badRequest() throws Exception {
+        mockMvc.perform(get("/api/jobs/batch?ids=1,,2")
+                        .header("Authorization", userToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation Failed"));
+    }
+
+    @Test
+    void getJobsByIds_post_nullId_badRequest() throws Exception {
+        mockMvc.perform(post("/api/jobs/batch")
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['ids[1]']").exists());
+    }
+
     @Test
     void updateJob_asAdmin_success() throws Exception {
         Job job = new Job(null, "Old Title", "Old Dept", "Old Desc", "Old Qual", null, LocalDate.now().plusDays(3), null, adminUser);
@@ -244,6 +331,104 @@ public class JobControllerTest {
 
         assertThat(jobRepository.existsById(savedJob.getId())).isTrue(); // Job should still exist
     }
+
+    @Test
+    void publicJobReads_areCacheableBySharedCaches() throws Exception {
+        Job job = jobRepository.save(new Job(null, "Cached Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, adminUser));
+
+        mockMvc.perform(get("/api/jobs/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60, public, stale-while-revalidate=300"))
+                .andExpect(header().doesNotExist("Pragma"));
+
+        mockMvc.perform(get("/api/jobs?page=0&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60, public, stale-while-revalidate=300"));
+    }
+
+    @Test
+    void publicJobReads_skipTokenParsing() throws Exception {
+        Job job = jobRepository.save(new Job(null, "Anonymous Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, adminUser));
+        long invalidJwtsBefore = errorLogSampler.counts().getOrDefault("InvalidJwt", 0L);
+
+        // A garbage token is ignored rather than parsed and rejected
+        mockMvc.perform(get("/api/jobs/" + job.getId())
+                        .header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Anonymous Job"));
+
+        assertThat(errorLogSampler.counts().getOrDefault("InvalidJwt", 0L)).isEqualTo(invalidJwtsBefore);
+    }
+
+    @Test
+    void publicJobReads_errorsAreNotCacheable() throws Exception {
+        mockMvc.perform(get("/api/jobs/9998"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Cache-Control", containsString("no-store")));
+    }
+
+    @Test
+    void publicJobReads_exposeNoCreatorDetails() throws Exception {
+        Job job = jobRepository.save(new Job(null, "Public Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, adminUser));
+
+        for (String url : new String[]{"/api/jobs/" + job.getId(), "/api/jobs?page=0&size=5",
+                "/api/jobs/batch?ids=" + job.getId(), "/api/jobs/" + job.getId() + "/also-bookmarked"}) {
+            String body = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", containsString("public")))
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(body).as(url)
+                    .doesNotContain(adminUser.getEmail())
+                    .doesNotContain("createdBy");
+        }
+    }
+
+    @Test
+    void getJobById_queryBudget_singleStatement() throws Exception {
+        Job job = jobRepository.save(new Job(null, "Budget Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, adminUser));
+        entityManager.flush();
+        entityManager.clear(); // Start from an empty persistence context, as a real request would
+
+        mockMvc.perform(get("/api/jobs/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Budget Job"))
+                .andExpect(SqlStatementBudget.atMost(1));
+
+        // Served from the jobs cache
+        mockMvc.perform(get("/api/jobs/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(0));
+    }
+
+    @Test
+    void getAllJobs_queryBudget_noPerJobCreatorLoads() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            User creator = new User("Creator", "Budget" + i, "creator" + i + "@test.com", "password");
+            userRepository.save(creator);
+            jobRepository.save(new Job(null, "Paged Job " + i, "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(i + 1), null, creator));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/jobs?page=0&size=2&sort=title,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[1].title").value("Paged Job 1"))
+                .andExpect(SqlStatementBudget.atMost(2)) // Page and count
+                .andExpect(SqlStatementBudget.noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    void deleteJob_asAdmin_queryBudget() throws Exception {
+        Job job = jobRepository.save(new Job(null, "Budget Delete", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, adminUser));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Token user lookup, job, current user, bookmark count and deletes
+        mockMvc.perform(delete("/api/jobs/" + job.getId())
+                        .header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.noStatementRepeatedMoreThan(1));
+    }
 }
 
 // Helper class for deserializing Page<T> if needed, Spring Boot provides one with Hateoas usually.
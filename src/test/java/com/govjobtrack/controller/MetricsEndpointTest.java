@@ -0,0 +1,95 @@
+package com.govjobtrack.controller;
+
+import com.govjobtrack.model.Job;
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.repository.JobRepository;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.jwt.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,info,prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.govjobtrack=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.metrics.scrape.username=scraper",
+        "app.metrics.scrape.password=scrape-secret"})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics // Test slices otherwise replace the Prometheus registry with a simple one
+@Transactional
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void prometheusEndpoint_exposesEndpointServiceDatabaseAndJvmMetrics() throws Exception {
+        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+        User user = new User("Metrics", "Test", "metrics@test.com", "password");
+        user.setRoles(Collections.singleton(userRole));
+        userRepository.save(user);
+        Job job = jobRepository.save(new Job(null, "Metered Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, user));
+
+        mockMvc.perform(get("/api/jobs/" + job.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookmarks/calendar/token")
+                        .header("Authorization", "Bearer " + jwtUtils.generateTokenFromEmail(user.getEmail())))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("handler=\"JobController.getJobById\"")
+                .contains("govjobtrack_service_seconds_bucket{")
+                .contains("class=\"JobServiceImpl\"")
+                .contains("method=\"getJobById\"")
+                .contains("govjobtrack_security_jwt_seconds_count{outcome=\"authenticated\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hikaricp_connections_active")
+                .contains("jvm_gc_pause_seconds")
+                .contains("cache_gets_total{cache=\"jobs\"");
+    }
+
+    @Test
+    void prometheusEndpoint_requiresTheScrapeAccount() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtUtils.generateTokenFromEmail("metrics@test.com")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
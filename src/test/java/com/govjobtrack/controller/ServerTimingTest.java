@@ -0,0 +1,102 @@
+package com.govjobtrack.controller;
+
+import com.govjobtrack.config.ServerTimingFilter;
+import com.govjobtrack.model.Job;
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.repository.JobRepository;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.server-timing.enabled=true")
+@AutoConfigureMockMvc
+@Transactional
+public class ServerTimingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+        user = new User("Timing", "Test", "timing@test.com", "password");
+        user.setRoles(Collections.singleton(userRole));
+        userRepository.save(user);
+        job = jobRepository.save(new Job(null, "Timed Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(3), null, user));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void publicJobRead_reportsPhasesWithoutAuth() throws Exception {
+        mockMvc.perform(get("/api/jobs/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Timed Job")) // Body survives the buffering
+                .andExpect(header().string(ServerTimingFilter.HEADER,
+                        matchesPattern("filters;dur=[\\d.]+, app;dur=[\\d.]+, db;dur=[\\d.]+, json;dur=[\\d.]+, total;dur=[\\d.]+")));
+
+        assertThat(meterRegistry.find(ServerTimingFilter.METRIC)
+                .tags("phase", "db", "handler", "JobController.getJobById").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+    }
+
+    @Test
+    void authenticatedWrite_reportsAuthPhase() throws Exception {
+        mockMvc.perform(post("/api/bookmarks/job/" + job.getId())
+                        .header("Authorization", "Bearer " + jwtUtils.generateTokenFromEmail(user.getEmail())))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(ServerTimingFilter.HEADER, matchesPattern(".*\\bauth;dur=[\\d.]+, app;dur=.*")));
+    }
+
+    @Test
+    void errorResponse_stillReportsTimings() throws Exception {
+        mockMvc.perform(get("/api/jobs/" + (job.getId() + 1000)))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(ServerTimingFilter.HEADER, matchesPattern(".*\\bjson;dur=[\\d.]+, total;dur=.*")));
+    }
+}
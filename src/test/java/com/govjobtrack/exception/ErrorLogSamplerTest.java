@@ -0,0 +1,42 @@
+package com.govjobtrack.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorLogSamplerTest {
+
+    @Test
+    void logsFirstOccurrenceThenSuppressesWithinInterval() {
+        ErrorLogSampler sampler = new ErrorLogSampler();
+        ReflectionTestUtils.setField(sampler, "logIntervalMs", 60_000L);
+
+        assertThat(sampler.sample("404")).isZero();
+        for (int i = 0; i < 99; i++) {
+            assertThat(sampler.sample("404")).isEqualTo(-1);
+        }
+        assertThat(sampler.sample("401")).isZero(); // Categories are sampled independently
+
+        assertThat(sampler.counts()).containsEntry("404", 100L).containsEntry("401", 1L);
+    }
+
+    @Test
+    void reportsSuppressedCountWhenIntervalElapses() throws InterruptedException {
+        ErrorLogSampler sampler = new ErrorLogSampler();
+        ReflectionTestUtils.setField(sampler, "logIntervalMs", 20L);
+
+        sampler.sample("404");
+        sampler.sample("404");
+        sampler.sample("404");
+        Thread.sleep(40);
+
+        assertThat(sampler.sample("404")).isEqualTo(2);
+    }
+
+    @Test
+    void expectedExceptionsCarryNoStackTrace() {
+        assertThat(new ResourceNotFoundException("Job", "id", 1L).getStackTrace()).isEmpty();
+        assertThat(new BookmarkNotFoundException(1L, 2L).getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.govjobtrack.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesValidJsonAndEscapesPath() throws Exception {
+        ErrorResponseWriter writer = new ErrorResponseWriter();
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+
+        for (String path : new String[]{"/api/jobs/1", "/api/\"quoted\"\\path"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            writer.write(response, 401, "Unauthorized", "Full \"authentication\" is required", path);
+
+            assertThat(response.getStatus()).isEqualTo(401);
+            assertThat(response.getContentType()).isEqualTo("application/json");
+            assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+            JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+            assertThat(body.get("status").asInt()).isEqualTo(401);
+            assertThat(body.get("error").asText()).isEqualTo("Unauthorized");
+            assertThat(body.get("message").asText()).isEqualTo("Full \"authentication\" is required");
+            assertThat(body.get("path").asText()).isEqualTo(path);
+        }
+    }
+}
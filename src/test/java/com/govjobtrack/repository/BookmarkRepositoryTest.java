@@ -1,11 +1,13 @@
 package com.govjobtrack.repository;
 
+import com.govjobtrack.config.SchemaConfig;
 import com.govjobtrack.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
@@ -18,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
+@Import(SchemaConfig.class) // Slices skip component scanning; the migrations need its placeholder
 public class BookmarkRepositoryTest {
 
     @Autowired
@@ -1,5 +1,6 @@
 package com.govjobtrack.repository;
 
+import com.govjobtrack.config.SchemaConfig;
 import com.govjobtrack.model.Job;
 import com.govjobtrack.model.User;
 import com.govjobtrack.model.Role;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -18,6 +20,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(SchemaConfig.class) // Slices skip component scanning; the migrations need its placeholder
 public class JobRepositoryTest {
 
     @Autowired
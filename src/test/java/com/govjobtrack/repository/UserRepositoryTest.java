@@ -1,5 +1,6 @@
 package com.govjobtrack.repository;
 
+import com.govjobtrack.config.SchemaConfig;
 import com.govjobtrack.model.User;
 import com.govjobtrack.model.Role;
 import com.govjobtrack.model.RoleEntity; // Assuming RoleEntity is what we use
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles; // If you have test-specific profiles
 
 import java.util.HashSet;
@@ -16,6 +18,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(SchemaConfig.class) // Slices skip component scanning; the migrations need its placeholder
 // @ActiveProfiles("test") // Example if you have a specific test profile in application-test.properties
 public class UserRepositoryTest {
 
@@ -0,0 +1,148 @@
+package com.govjobtrack.security;
+
+import com.govjobtrack.security.jwt.JwtUtils;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.rules[0].pattern=/api/auth/signin",
+        "app.rate-limit.rules[0].methods=POST",
+        "app.rate-limit.rules[0].key=IP",
+        "app.rate-limit.rules[0].capacity=2",
+        "app.rate-limit.rules[0].period=10m",
+        "app.rate-limit.rules[1].pattern=/api/auth/logout",
+        "app.rate-limit.rules[1].key=USER",
+        "app.rate-limit.rules[1].capacity=1",
+        "app.rate-limit.rules[1].period=10m",
+        "app.rate-limit.rules[2].pattern=/api/jobs/**",
+        "app.rate-limit.rules[2].key=IP",
+        "app.rate-limit.rules[2].capacity=1",
+        "app.rate-limit.rules[2].period=10m",
+        "app.rate-limit.signin-per-account.capacity=5",
+        "app.rate-limit.signin-per-account.period=10m"
+})
+@AutoConfigureMockMvc
+public class RateLimitFilterTest {
+
+    private static final String SIGNIN_BODY = "{\"email\":\"nobody@example.com\",\"password\":\"password123\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Test
+    void perIpLimit_returns429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            int status = mockMvc.perform(signin("10.0.0.1")).andReturn().getResponse().getStatus();
+            assertThat(status).isNotEqualTo(429);
+        }
+
+        mockMvc.perform(signin("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "300"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/api/auth/signin"));
+
+        // Another client still has its own bucket
+        int otherClientStatus = mockMvc.perform(signin("10.0.0.2")).andReturn().getResponse().getStatus();
+        assertThat(otherClientStatus).isNotEqualTo(429);
+    }
+
+    @Test
+    void perUserLimit_isKeyedByTokenNotAddress() throws Exception {
+        String alice = bearer(101L, "alice@example.com");
+        String bob = bearer(102L, "bob@example.com");
+
+        mockMvc.perform(logout(alice, "10.0.1.1")).andExpect(status().isOk());
+        mockMvc.perform(logout(alice, "10.0.1.2")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(logout(bob, "10.0.1.1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void perAccountLimit_appliesAcrossAddresses() throws Exception {
+        String body = "{\"email\":\"Target@example.com\",\"password\":\"guess\"}";
+        for (int i = 0; i < 5; i++) {
+            int status = mockMvc.perform(signin("10.0.3." + i, body)).andReturn().getResponse().getStatus();
+            assertThat(status).isNotEqualTo(429);
+        }
+
+        // Each address is well under its own limit; the account's bucket is empty, whatever the email's case
+        mockMvc.perform(signin("10.0.3.9", body.replace("Target", "target")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "120"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void publicJobReads_areLimitedByRulesWithoutMethods() throws Exception {
+        MockHttpServletRequestBuilder batch = get("/api/jobs/batch").param("ids", "1")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.4.1");
+                    return request;
+                });
+
+        mockMvc.perform(batch).andExpect(status().isOk());
+        mockMvc.perform(batch)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "600"));
+    }
+
+    @Test
+    void idleBuckets_areEvicted() throws Exception {
+        mockMvc.perform(signin("10.0.2.1"));
+        assertThat(rateLimitFilter.bucketCount()).isPositive();
+
+        rateLimitFilter.evictIdleBuckets(); // The new bucket is still refilling, so it stays
+        assertThat(rateLimitFilter.bucketCount()).isPositive();
+    }
+
+    private MockHttpServletRequestBuilder signin(String remoteAddr) {
+        return signin(remoteAddr, SIGNIN_BODY);
+    }
+
+    private MockHttpServletRequestBuilder signin(String remoteAddr, String body) {
+        return post("/api/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+
+    private MockHttpServletRequestBuilder logout(String authorization, String remoteAddr) {
+        return post("/api/auth/logout")
+                .header("Authorization", authorization)
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+
+    private String bearer(Long userId, String email) {
+        UserDetailsImpl user = new UserDetailsImpl(userId, email, "Rate", "Limited", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return "Bearer " + jwtUtils.generateJwtToken(user);
+    }
+}
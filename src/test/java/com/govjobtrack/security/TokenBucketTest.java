@@ -0,0 +1,51 @@
+package com.govjobtrack.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstUpToCapacity_thenWaitsForRefill() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, now); // One token per second, burst of three
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND);
+
+        assertThat(bucket.tryAcquire(now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(now + SECOND)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void idleOnceFullyRefilled() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(2, 2 * SECOND, now);
+
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+
+        assertThat(bucket.isIdle(now + SECOND)).isFalse();
+        assertThat(bucket.isIdle(now + 2 * SECOND)).isTrue();
+        // Refill never exceeds capacity, however long the bucket sat idle
+        long later = now + 3_600 * SECOND;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void zeroCapacityOrPeriod_rejected() {
+        assertThatThrownBy(() -> new TokenBucket(0, SECOND, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(3, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
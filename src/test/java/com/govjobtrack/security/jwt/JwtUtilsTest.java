@@ -1,6 +1,7 @@
 package com.govjobtrack.security.jwt;
 
 import com.govjobtrack.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -49,6 +50,54 @@ public class JwtUtilsTest {
         assertThat(jwtUtils.getEmailFromJwtToken(token)).isEqualTo("test@example.com");
     }
 
+    @Test
+    void getUserDetailsFromClaims_tokenFromLogin_rebuildsPrincipalWithoutDatabase() {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        Mockito.when(authentication.getPrincipal()).thenReturn(new UserDetailsImpl(42L, "claims@example.com", "Claire", "Ims", "password", authorities));
+
+        String token = jwtUtils.generateJwtToken(authentication);
+        UserDetailsImpl userDetails = jwtUtils.getUserDetailsFromClaims(jwtUtils.getClaimsFromJwtToken(token));
+
+        assertThat(userDetails.getId()).isEqualTo(42L);
+        assertThat(userDetails.getUsername()).isEqualTo("claims@example.com");
+        assertThat(userDetails.getFirstName()).isEqualTo("Claire");
+        assertThat(userDetails.getLastName()).isEqualTo("Ims");
+        assertThat(userDetails.getPassword()).isNull();
+        assertThat(userDetails.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void getUserDetailsFromClaims_tokenWithoutIdentityClaims_returnsNull() {
+        String token = jwtUtils.generateTokenFromEmail("legacy@example.com");
+        assertThat(jwtUtils.getUserDetailsFromClaims(jwtUtils.getClaimsFromJwtToken(token))).isNull();
+    }
+
+    @Test
+    void getVerifiedClaims_repeatedToken_servedFromCache() {
+        String token = jwtUtils.generateTokenFromEmail("cached@example.com");
+
+        Claims first = jwtUtils.getVerifiedClaims(token);
+        Claims second = jwtUtils.getVerifiedClaims(token);
+
+        assertThat(first.getSubject()).isEqualTo("cached@example.com");
+        assertThat(second).isSameAs(first); // No second parse
+    }
+
+    @Test
+    void getVerifiedClaims_invalidOrExpiredToken_returnsNull() throws InterruptedException {
+        String token = jwtUtils.generateTokenFromEmail("test@example.com");
+        jwtUtils.getVerifiedClaims(token);
+        assertThat(jwtUtils.getVerifiedClaims(token.substring(0, token.length() - 5) + "XXXXX")).isNull();
+        assertThat(jwtUtils.getVerifiedClaims("")).isNull();
+
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 1, int.class);
+        String expiring = jwtUtils.generateTokenFromEmail("expired@example.com");
+        Thread.sleep(10);
+        assertThat(jwtUtils.getVerifiedClaims(expiring)).isNull();
+    }
+
     @Test
     void generateTokenFromEmail_validEmail_returnsToken() {
         String email = "direct@example.com";
@@ -0,0 +1,80 @@
+package com.govjobtrack.security.jwt;
+
+import com.govjobtrack.model.RevokedToken;
+import com.govjobtrack.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class RevokedTokensTest {
+
+    @Autowired
+    private RevokedTokens revokedTokens;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+        revokedTokens.init();
+    }
+
+    @Test
+    void revoke_isPersistedAndReloaded() {
+        String tokenId = UUID.randomUUID().toString();
+
+        revokedTokens.revoke(tokenId, Instant.now().plusSeconds(600));
+
+        assertThat(revokedTokens.isRevoked(tokenId)).isTrue();
+        assertThat(revokedTokens.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(revokedTokens.isRevoked(null)).isFalse();
+        assertThat(revokedTokenRepository.existsById(tokenId)).isTrue();
+
+        revokedTokens.init(); // As after a restart
+        assertThat(revokedTokens.isRevoked(tokenId)).isTrue();
+    }
+
+    @Test
+    void syncFromDatabase_picksUpRevocationsFromOtherInstances() {
+        String tokenId = UUID.randomUUID().toString();
+        revokedTokenRepository.save(new RevokedToken(tokenId, Instant.now().plusSeconds(600), Instant.now()));
+        assertThat(revokedTokens.isRevoked(tokenId)).isFalse();
+
+        revokedTokens.syncFromDatabase();
+
+        assertThat(revokedTokens.isRevoked(tokenId)).isTrue();
+    }
+
+    @Test
+    void purgeExpired_dropsExpiredIds() {
+        String expired = UUID.randomUUID().toString();
+        String live = UUID.randomUUID().toString();
+        revokedTokenRepository.save(new RevokedToken(expired, Instant.now().plusMillis(50), Instant.now()));
+        revokedTokens.revoke(live, Instant.now().plusSeconds(600));
+        revokedTokens.syncFromDatabase();
+        assertThat(revokedTokens.isRevoked(expired)).isTrue();
+
+        await(100);
+        revokedTokens.purgeExpired();
+
+        assertThat(revokedTokens.isRevoked(expired)).isFalse();
+        assertThat(revokedTokens.isRevoked(live)).isTrue();
+        assertThat(revokedTokenRepository.existsById(expired)).isFalse();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.govjobtrack.security.jwt;
+
+import com.govjobtrack.model.UserTokenCutoff;
+import com.govjobtrack.repository.UserTokenCutoffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserTokenCutoffsTest {
+
+    private UserTokenCutoffs userTokenCutoffs;
+
+    private UserTokenCutoffRepository userTokenCutoffRepository;
+
+    @BeforeEach
+    void setUp() {
+        userTokenCutoffRepository = mock(UserTokenCutoffRepository.class);
+        when(userTokenCutoffRepository.findById(any())).thenReturn(Optional.empty());
+        userTokenCutoffs = new UserTokenCutoffs();
+        ReflectionTestUtils.setField(userTokenCutoffs, "userTokenCutoffRepository", userTokenCutoffRepository);
+        ReflectionTestUtils.setField(userTokenCutoffs, "enabled", true);
+        ReflectionTestUtils.setField(userTokenCutoffs, "jwtExpirationMs", 3600000L);
+        userTokenCutoffs.init();
+    }
+
+    @Test
+    void isRevoked_rejectsOnlyTokensIssuedBeforeCutoff() {
+        Instant cutoff = Instant.parse("2024-01-01T10:00:00Z");
+        userTokenCutoffs.revokeTokensIssuedBefore(1L, cutoff);
+
+        assertThat(userTokenCutoffs.isRevoked(1L, Date.from(cutoff.minusSeconds(1)))).isTrue();
+        assertThat(userTokenCutoffs.isRevoked(1L, Date.from(cutoff))).isFalse();
+        assertThat(userTokenCutoffs.isRevoked(2L, Date.from(cutoff.minusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    void revokeTokensIssuedBefore_neverMovesCutoffBackwards() {
+        Instant cutoff = Instant.parse("2024-01-01T10:00:00Z");
+        userTokenCutoffs.revokeTokensIssuedBefore(1L, cutoff);
+        userTokenCutoffs.revokeTokensIssuedBefore(1L, cutoff.minusSeconds(60));
+
+        assertThat(userTokenCutoffs.isRevoked(1L, Date.from(cutoff.minusSeconds(30)))).isTrue();
+    }
+
+    @Test
+    void isRevoked_disabled_acceptsEverything() {
+        ReflectionTestUtils.setField(userTokenCutoffs, "enabled", false);
+        userTokenCutoffs.revokeTokensIssuedBefore(1L, Instant.now());
+
+        assertThat(userTokenCutoffs.isRevoked(1L, Date.from(Instant.EPOCH))).isFalse();
+    }
+
+    @Test
+    void revokeTokensIssuedBefore_persistsCutoff() {
+        Instant cutoff = Instant.parse("2024-01-01T10:00:00Z");
+        userTokenCutoffs.revokeTokensIssuedBefore(1L, cutoff);
+
+        verify(userTokenCutoffRepository).save(new UserTokenCutoff(1L, cutoff));
+    }
+
+    @Test
+    void syncFromDatabase_mergesCutoffsFromOtherInstances() {
+        Instant cutoff = Instant.now();
+        when(userTokenCutoffRepository.findByCutoffAtAfter(any())).thenReturn(List.of(new UserTokenCutoff(7L, cutoff)));
+
+        userTokenCutoffs.syncFromDatabase();
+
+        assertThat(userTokenCutoffs.isRevoked(7L, Date.from(cutoff.minusSeconds(5)))).isTrue();
+    }
+}
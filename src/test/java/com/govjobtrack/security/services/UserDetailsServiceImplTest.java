@@ -0,0 +1,122 @@
+package com.govjobtrack.security.services;
+
+import com.govjobtrack.config.CacheConfig;
+import com.govjobtrack.config.CacheStatsReporter;
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// IGNORECASE mirrors the case-insensitive collation of the email column on MySQL
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:userdetails;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1"})
+@Transactional // Rollback transactions after each test
+public class UserDetailsServiceImplTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CacheStatsReporter cacheStatsReporter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private RoleEntity userRole;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+
+        user = new User("Cached", "User", "cached.user@test.com", "hash");
+        user.setRoles(new HashSet<>(Set.of(userRole)));
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void loadUserByUsername_secondCall_servedFromCache() {
+        long hitsBefore = cacheStatsReporter.statsOf(CacheConfig.USER_DETAILS_CACHE).hitCount();
+
+        userDetailsService.loadUserByUsername("cached.user@test.com");
+        statistics.clear();
+        UserDetails cached = userDetailsService.loadUserByUsername("cached.user@test.com");
+
+        assertThat(cached.getUsername()).isEqualTo("cached.user@test.com");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cacheStatsReporter.statsOf(CacheConfig.USER_DETAILS_CACHE).hitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void userChange_evictsCachedDetails() {
+        userDetailsService.loadUserByUsername("cached.user@test.com");
+
+        RoleEntity adminRole = roleRepository.findByName(Role.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_ADMIN)));
+        user.getRoles().add(adminRole);
+        user.setPassword("new-hash");
+        userRepository.saveAndFlush(user);
+
+        UserDetails reloaded = userDetailsService.loadUserByUsername("cached.user@test.com");
+        assertThat(reloaded.getPassword()).isEqualTo("new-hash");
+        assertThat(reloaded.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void caseVariantLogin_sharesTheEntryEvictedOnChange() {
+        UserDetails first = userDetailsService.loadUserByUsername("Cached.User@Test.com");
+        assertThat(first.getPassword()).isEqualTo("hash");
+
+        RoleEntity adminRole = roleRepository.findByName(Role.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_ADMIN)));
+        user.getRoles().add(adminRole);
+        user.setPassword("new-hash");
+        userRepository.saveAndFlush(user);
+
+        UserDetails reloaded = userDetailsService.loadUserByUsername("Cached.User@Test.com");
+        assertThat(reloaded.getPassword()).isEqualTo("new-hash");
+        assertThat(reloaded.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void roleOnlyChange_evictsCachedDetails() {
+        userDetailsService.loadUserByUsername("Cached.User@Test.com");
+
+        RoleEntity adminRole = roleRepository.findByName(Role.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_ADMIN)));
+        user.getRoles().add(adminRole);
+        userRepository.saveAndFlush(user);
+
+        assertThat(userDetailsService.loadUserByUsername("cached.user@test.com").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+}
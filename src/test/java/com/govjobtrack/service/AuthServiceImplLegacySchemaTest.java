@@ -0,0 +1,62 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.payload.request.SignupRequest;
+import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database whose email key still has the name Hibernate generated before V2__name_constraints
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:legacysignup;MODE=MySQL;DB_CLOSE_DELAY=-1")
+public class AuthServiceImplLegacySchemaTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_email");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)");
+        if (roleRepository.findByName(Role.ROLE_USER).isEmpty()) {
+            roleRepository.save(new RoleEntity(Role.ROLE_USER));
+        }
+        roleRegistry.load();
+    }
+
+    @Test
+    void registerUser_duplicateEmail_rejectedWithoutTheNamedKey() {
+        assertThat(authService.registerUser(signupRequest()).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<?> response = authService.registerUser(signupRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(((MessageResponse) response.getBody()).getMessage()).isEqualTo("Error: Email is already in use!");
+    }
+
+    private SignupRequest signupRequest() {
+        SignupRequest request = new SignupRequest();
+        request.setFirstName("Legacy");
+        request.setLastName("Signup");
+        request.setEmail("legacy.signup@test.com");
+        request.setPassword("password123");
+        return request;
+    }
+}
@@ -0,0 +1,110 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.Role;
+import com.govjobtrack.model.RoleEntity;
+import com.govjobtrack.model.User;
+import com.govjobtrack.payload.request.SignupRequest;
+import com.govjobtrack.payload.response.MessageResponse;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Pins the number of SQL statements issued by signup; not transactional, as registerUser runs its own transaction
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class AuthServiceImplTest {
+
+    private static final String EMAIL = "signup.count@test.com";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (Role role : Role.values()) {
+            if (roleRepository.findByName(role).isEmpty()) {
+                roleRepository.save(new RoleEntity(role));
+            }
+        }
+        roleRegistry.load(); // As DataInitializer does at startup
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void registerUser_issuesUserAndRoleInsertsOnly() {
+        statistics.clear();
+
+        ResponseEntity<?> response = authService.registerUser(signupRequest(Set.of("user", "admin")));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // users row and its two user_roles rows; no email check, no role lookups
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        User saved = userRepository.findByEmail(EMAIL).get();
+        assertThat(saved.getRoles()).extracting(RoleEntity::getName).containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
+    }
+
+    @Test
+    void registerUser_duplicateEmail_rejectedByUniqueKey() {
+        authService.registerUser(signupRequest(null));
+        statistics.clear();
+
+        ResponseEntity<?> response = authService.registerUser(signupRequest(null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(((MessageResponse) response.getBody()).getMessage()).isEqualTo("Error: Email is already in use!");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void roleRegistry_reloadsAfterRoleChange() {
+        RoleEntity before = roleRegistry.get(Role.ROLE_USER);
+
+        roleRegistry.invalidate();
+
+        statistics.clear();
+        assertThat(roleRegistry.get(Role.ROLE_USER).getId()).isEqualTo(before.getId());
+        assertThat(roleRegistry.get(Role.ROLE_ADMIN)).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1); // One reload serves both lookups
+    }
+
+    private SignupRequest signupRequest(Set<String> roles) {
+        SignupRequest request = new SignupRequest();
+        request.setFirstName("Signup");
+        request.setLastName("Count");
+        request.setEmail(EMAIL);
+        request.setPassword("password123");
+        request.setRole(roles);
+        return request;
+    }
+}
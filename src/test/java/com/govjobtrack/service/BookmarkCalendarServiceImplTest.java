@@ -0,0 +1,70 @@
+package com.govjobtrack.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BookmarkCalendarServiceImplTest {
+
+    private static final String SECRET = "CalendarFeedSecretForTheseTests-0123456789";
+    private static final String NEXT_SECRET = "NextCalendarFeedSecretForTheseTests-012345";
+
+    @Test
+    void feedToken_resolvesToItsUser() {
+        BookmarkCalendarServiceImpl service = service(SECRET);
+
+        assertThat(service.resolveFeedToken(service.createFeedToken(42L))).isEqualTo(42L);
+    }
+
+    @Test
+    void feedToken_tamperedOrMalformed_rejected() {
+        BookmarkCalendarServiceImpl service = service(SECRET);
+        String[] parts = service.createFeedToken(42L).split("\\.");
+
+        assertThat(service.resolveFeedToken("43." + parts[1] + "." + parts[2])).isNull();
+        assertThat(service.resolveFeedToken(parts[0] + "." + (Long.parseLong(parts[1]) + 1) + "." + parts[2])).isNull();
+        assertThat(service.resolveFeedToken(parts[0] + "." + parts[2])).isNull();
+        assertThat(service.resolveFeedToken("not-a-token")).isNull();
+    }
+
+    @Test
+    void feedToken_expired_rejected() {
+        BookmarkCalendarServiceImpl service = service(SECRET);
+
+        assertThat(service.resolveFeedToken(service.createFeedToken(42L, Instant.now().minusSeconds(1)))).isNull();
+    }
+
+    @Test
+    void feedToken_signedWithRotatedOutKey_acceptedOnlyWhileListedAsPrevious() {
+        String issuedBeforeRotation = service(SECRET).createFeedToken(42L);
+
+        assertThat(service(NEXT_SECRET, SECRET).resolveFeedToken(issuedBeforeRotation)).isEqualTo(42L);
+        assertThat(service(NEXT_SECRET).resolveFeedToken(issuedBeforeRotation)).isNull();
+    }
+
+    @Test
+    void shortSecret_failsAtStartup() {
+        assertThatThrownBy(() -> service("too-short")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void missingSecret_failsAtStartup() {
+        assertThatThrownBy(() -> service("")).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not set");
+    }
+
+    private static BookmarkCalendarServiceImpl service(String secret, String... previousSecrets) {
+        BookmarkCalendarServiceImpl service = new BookmarkCalendarServiceImpl();
+        ReflectionTestUtils.setField(service, "tokenSecret", secret);
+        ReflectionTestUtils.setField(service, "previousTokenSecrets", previousSecrets);
+        ReflectionTestUtils.setField(service, "tokenValidityDays", 180L);
+        ReflectionTestUtils.setField(service, "cacheManager", new ConcurrentMapCacheManager());
+        service.init();
+        return service;
+    }
+}
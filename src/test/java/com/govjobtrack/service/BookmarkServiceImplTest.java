@@ -0,0 +1,168 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.exception.BookmarkAlreadyExistsException;
+import com.govjobtrack.exception.BookmarkNotFoundException;
+import com.govjobtrack.exception.ResourceNotFoundException;
+import com.govjobtrack.model.*; // Job, User, RoleEntity, Bookmark
+import com.govjobtrack.payload.request.BookmarkSyncOperation;
+import com.govjobtrack.payload.request.BookmarkSyncRequest;
+import com.govjobtrack.payload.response.BookmarkResponse;
+import com.govjobtrack.payload.response.BookmarkSyncResponse;
+import com.govjobtrack.repository.BookmarkRepository;
+import com.govjobtrack.repository.JobRepository;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Pins the number of SQL statements issued by the bookmark write paths
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional // Rollback transactions after each test
+public class BookmarkServiceImplTest {
+
+    @Autowired
+    private BookmarkService bookmarkService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User regularUser;
+    private UserDetailsImpl regularUserDetails;
+    private Job testJob;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+
+        regularUser = new User("Stmt", "Count", "stmt.count@test.com", "password");
+        regularUser.setRoles(Collections.singleton(userRole));
+        userRepository.save(regularUser);
+        regularUserDetails = UserDetailsImpl.build(regularUser);
+
+        testJob = jobRepository.save(new Job(null, "Counted Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(10), null, regularUser));
+
+        // Start each test from an empty persistence context, as a real request would
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void addBookmark_withCachedJob_issuesSingleInsert() {
+        jobService.getJobById(testJob.getId()); // Warm the job cache, as viewing the job page would
+        entityManager.clear();
+        statistics.clear();
+
+        BookmarkResponse response = bookmarkService.addBookmark(testJob.getId(), regularUserDetails);
+
+        assertThat(response.getJobTitle()).isEqualTo("Counted Job");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void addBookmark_duplicate_throwsAfterSingleInsertAttempt() {
+        bookmarkRepository.saveAndFlush(new Bookmark(regularUser, testJob));
+        entityManager.clear();
+        statistics.clear();
+
+        assertThrows(BookmarkAlreadyExistsException.class,
+                () -> bookmarkService.addBookmark(testJob.getId(), regularUserDetails));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void addBookmark_unknownJob_throwsResourceNotFound() {
+        statistics.clear();
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> bookmarkService.addBookmark(-1L, regularUserDetails));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removeBookmark_issuesSingleDelete() {
+        bookmarkRepository.saveAndFlush(new Bookmark(regularUser, testJob));
+        entityManager.clear();
+        statistics.clear();
+
+        bookmarkService.removeBookmark(testJob.getId(), regularUserDetails);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookmarkRepository.findByUser(regularUser)).isEmpty();
+    }
+
+    @Test
+    void removeBookmark_notBookmarked_throwsAfterSingleDelete() {
+        statistics.clear();
+
+        assertThrows(BookmarkNotFoundException.class,
+                () -> bookmarkService.removeBookmark(testJob.getId(), regularUserDetails));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void syncBookmarks_issuesBoundedStatementsForWholeBatch() {
+        Job otherJob = jobRepository.save(new Job(null, "Other Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(5), null, regularUser));
+        bookmarkRepository.saveAndFlush(new Bookmark(regularUser, testJob));
+        entityManager.clear();
+        statistics.clear();
+
+        BookmarkSyncRequest syncRequest = new BookmarkSyncRequest();
+        syncRequest.setOperations(List.of(
+                syncOperation(otherJob.getId(), BookmarkSyncOperation.Action.ADD),
+                syncOperation(-1L, BookmarkSyncOperation.Action.ADD),
+                syncOperation(testJob.getId(), BookmarkSyncOperation.Action.REMOVE)));
+
+        BookmarkSyncResponse response = bookmarkService.syncBookmarks(syncRequest, regularUserDetails);
+
+        assertThat(response.getBookmarkedJobIds()).containsExactly(otherJob.getId());
+        // Existing-bookmark lookup, one multi-row INSERT, one DELETE, resulting set
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private BookmarkSyncOperation syncOperation(Long jobId, BookmarkSyncOperation.Action action) {
+        BookmarkSyncOperation operation = new BookmarkSyncOperation();
+        operation.setJobId(jobId);
+        operation.setAction(action);
+        operation.setClientTimestamp(Instant.now().plusSeconds(1));
+        return operation;
+    }
+}
@@ -0,0 +1,67 @@
+package com.govjobtrack.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.govjobtrack.config.CacheConfig;
+import com.govjobtrack.repository.BookmarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookmarkedJobIdsCacheTest {
+
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+    private BookmarkRepository bookmarkRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository = Mockito.mock(BookmarkRepository.class);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.BOOKMARKED_JOB_IDS_CACHE, Caffeine.newBuilder().maximumSize(10).build());
+
+        bookmarkedJobIdsCache = new BookmarkedJobIdsCache();
+        ReflectionTestUtils.setField(bookmarkedJobIdsCache, "bookmarkRepository", bookmarkRepository);
+        ReflectionTestUtils.setField(bookmarkedJobIdsCache, "cacheManager", cacheManager);
+        bookmarkedJobIdsCache.init();
+    }
+
+    @Test
+    void getBookmarkedJobIds_loadsOnceAndReturnsSortedIds() {
+        when(bookmarkRepository.findJobIdsByUserId(1L)).thenReturn(List.of(3L, 7L, 11L));
+
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).containsExactly(3L, 7L, 11L);
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).containsExactly(3L, 7L, 11L);
+        verify(bookmarkRepository, times(1)).findJobIdsByUserId(1L);
+    }
+
+    @Test
+    void addAndRemove_keepCachedSetCoherentWithoutReloading() {
+        when(bookmarkRepository.findJobIdsByUserId(1L)).thenReturn(List.of(3L, 7L));
+        bookmarkedJobIdsCache.getBookmarkedJobIds(1L);
+
+        bookmarkedJobIdsCache.onBookmarkAdded(1L, 5L);
+        bookmarkedJobIdsCache.onBookmarkAdded(1L, 5L); // Idempotent
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).containsExactly(3L, 5L, 7L);
+
+        bookmarkedJobIdsCache.onBookmarkRemoved(1L, 3L);
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).containsExactly(5L, 7L);
+        verify(bookmarkRepository, times(1)).findJobIdsByUserId(1L);
+    }
+
+    @Test
+    void onBookmarkAdded_forUncachedUser_doesNotPopulatePartialSet() {
+        when(bookmarkRepository.findJobIdsByUserId(2L)).thenReturn(List.of(4L, 9L));
+
+        bookmarkedJobIdsCache.onBookmarkAdded(2L, 9L);
+
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(2L)).containsExactly(4L, 9L);
+    }
+}
@@ -0,0 +1,105 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.repository.BookmarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class CoBookmarkIndexTest {
+
+    private CoBookmarkIndex coBookmarkIndex;
+    private BookmarkRepository bookmarkRepository;
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository = Mockito.mock(BookmarkRepository.class);
+        bookmarkedJobIdsCache = Mockito.mock(BookmarkedJobIdsCache.class);
+
+        coBookmarkIndex = new CoBookmarkIndex();
+        ReflectionTestUtils.setField(coBookmarkIndex, "bookmarkRepository", bookmarkRepository);
+        ReflectionTestUtils.setField(coBookmarkIndex, "bookmarkedJobIdsCache", bookmarkedJobIdsCache);
+        ReflectionTestUtils.setField(coBookmarkIndex, "transactionManager", new NoOpTransactionManager());
+        ReflectionTestUtils.setField(coBookmarkIndex, "maxUserBookmarks", 3);
+        ReflectionTestUtils.setField(coBookmarkIndex, "maxNeighbours", 2);
+    }
+
+    @Test
+    void onBookmarkAddedAndRemoved_maintainSymmetricCounts() {
+        // Sets as seen after each commit: the new job is already part of the user's set
+        when(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).thenReturn(new long[]{10L, 20L});
+        coBookmarkIndex.onBookmarkAdded(1L, 20L);
+        when(bookmarkedJobIdsCache.getBookmarkedJobIds(2L)).thenReturn(new long[]{10L, 20L, 30L});
+        coBookmarkIndex.onBookmarkAdded(2L, 10L);
+
+        assertThat(top(10L)).containsExactly(Map.entry(20L, 2), Map.entry(30L, 1));
+        assertThat(top(30L)).containsExactly(Map.entry(10L, 1)); // Only pairs involving the added job are counted
+
+        when(bookmarkedJobIdsCache.getBookmarkedJobIds(2L)).thenReturn(new long[]{10L, 30L});
+        coBookmarkIndex.onBookmarkRemoved(2L, 20L);
+
+        assertThat(top(10L)).containsExactly(Map.entry(20L, 1), Map.entry(30L, 1));
+        assertThat(top(20L)).containsExactly(Map.entry(10L, 1));
+    }
+
+    @Test
+    void usersAboveBookmarkCap_contributeNoPairs() {
+        when(bookmarkedJobIdsCache.getBookmarkedJobIds(1L)).thenReturn(new long[]{10L, 20L, 30L, 40L});
+        coBookmarkIndex.onBookmarkAdded(1L, 40L);
+
+        assertThat(top(40L)).isEmpty();
+    }
+
+    @Test
+    void rebuildAndCompact_keepTopNeighboursPerJob() {
+        when(bookmarkRepository.streamUserJobPairs()).thenReturn(Stream.of(
+                new Object[]{1L, 10L}, new Object[]{1L, 20L},
+                new Object[]{2L, 10L}, new Object[]{2L, 20L}, new Object[]{2L, 30L},
+                new Object[]{3L, 10L}, new Object[]{3L, 30L},
+                new Object[]{4L, 10L}, new Object[]{4L, 40L},
+                new Object[]{5L, 10L}, new Object[]{5L, 20L}, new Object[]{5L, 30L}, new Object[]{5L, 40L})); // Over the cap
+
+        coBookmarkIndex.rebuild();
+
+        // 40 co-occurs with 10 once as well, but only the two strongest neighbours are kept
+        assertThat(top(10L)).containsExactly(Map.entry(20L, 2), Map.entry(30L, 2));
+
+        coBookmarkIndex.onJobDeleted(20L);
+        assertThat(top(20L)).isEmpty();
+    }
+
+    private List<Map.Entry<Long, Integer>> top(long jobId) {
+        return coBookmarkIndex.topCoBookmarked(jobId, 5);
+    }
+
+    // Lets TransactionTemplate run its callback without a database
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.*; // Job, User, RoleEntity, Bookmark, ReminderCheckpoint
+import com.govjobtrack.notification.DeadlineReminder;
+import com.govjobtrack.notification.DeadlineReminderJob;
+import com.govjobtrack.notification.NotificationSender;
+import com.govjobtrack.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Not @Transactional: the reminder workers read committed data on their own threads
+@SpringBootTest(properties = {"app.reminders.chunk-size=2", "app.reminders.parallelism=2", "app.reminders.days-before=3"})
+public class DeadlineReminderJobTest {
+
+    @Autowired
+    private DeadlineReminderJob deadlineReminderJob;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ReminderCheckpointRepository checkpointRepository;
+
+    @MockBean
+    private NotificationSender notificationSender;
+
+    private final LocalDate today = LocalDate.now();
+    private Job closingSoon;
+    private Job closingLater;
+    private Job closingTomorrow;
+    private Bookmark lastClosingSoonBookmark;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+
+        User[] users = new User[3];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User("Reminder", "User" + i, "reminder" + i + "@test.com", "password");
+            users[i].setRoles(Collections.singleton(userRole));
+            userRepository.save(users[i]);
+        }
+
+        closingSoon = jobRepository.save(new Job(null, "Closing Soon", "Dept", "Desc", "Qual", null, today.plusDays(2), null, users[0]));
+        closingLater = jobRepository.save(new Job(null, "Closing Later", "Dept", "Desc", "Qual", null, today.plusDays(10), null, users[0]));
+        closingTomorrow = jobRepository.save(new Job(null, "Closing Tomorrow", "Dept", "Desc", "Qual", null, today.plusDays(1), null, users[0]));
+
+        for (User user : users) {
+            lastClosingSoonBookmark = bookmarkRepository.save(new Bookmark(user, closingSoon));
+        }
+        bookmarkRepository.save(new Bookmark(users[0], closingLater));
+        bookmarkRepository.save(new Bookmark(users[1], closingTomorrow));
+        bookmarkRepository.save(new Bookmark(users[2], closingTomorrow));
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAll();
+        bookmarkRepository.deleteAll();
+        jobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void run_sendsRemindersForJobsClosingWithinWindow_andCompletesCheckpoint() {
+        long sent = deadlineReminderJob.run(today);
+
+        List<DeadlineReminder> reminders = capturedReminders();
+        assertThat(sent).isEqualTo(5);
+        assertThat(reminders).hasSize(5);
+        assertThat(reminders).extracting(DeadlineReminder::getJobId)
+                .containsOnly(closingSoon.getId(), closingTomorrow.getId());
+        // Chunk size 2 over 5 rows
+        verify(notificationSender, times(3)).sendDeadlineReminders(anyList());
+
+        ReminderCheckpoint checkpoint = checkpointRepository.findById(today).orElseThrow();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getRemindersSent()).isEqualTo(5);
+    }
+
+    @Test
+    void run_resumesFromCheckpoint() {
+        // A previous run got through every bookmark of the first job before stopping
+        ReminderCheckpoint checkpoint = new ReminderCheckpoint(today);
+        checkpoint.setLastJobId(closingSoon.getId());
+        checkpoint.setLastBookmarkId(lastClosingSoonBookmark.getId());
+        checkpoint.setRemindersSent(3);
+        checkpointRepository.save(checkpoint);
+
+        long sent = deadlineReminderJob.run(today);
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(capturedReminders()).extracting(DeadlineReminder::getJobId)
+                .containsOnly(closingTomorrow.getId());
+        assertThat(checkpointRepository.findById(today).orElseThrow().getRemindersSent()).isEqualTo(5);
+    }
+
+    @Test
+    void run_completedRun_isNotRepeated() {
+        deadlineReminderJob.run(today);
+        clearInvocations(notificationSender);
+
+        assertThat(deadlineReminderJob.run(today)).isZero();
+        verifyNoInteractions(notificationSender);
+    }
+
+    @Test
+    void run_senderFailure_leavesCheckpointForRetry() {
+        doThrow(new IllegalStateException("mail server down")).when(notificationSender).sendDeadlineReminders(anyList());
+
+        assertThat(deadlineReminderJob.run(today)).isZero();
+        assertThat(checkpointRepository.findById(today)).isEmpty();
+
+        doNothing().when(notificationSender).sendDeadlineReminders(anyList());
+        assertThat(deadlineReminderJob.run(today)).isEqualTo(5);
+    }
+
+    @Test
+    void run_failedDay_isNotResumedByTheNextDaysRun() {
+        LocalDate yesterday = today.minusDays(1);
+        // The first wave (two chunks of two) is delivered, the last chunk fails
+        doAnswer(invocation -> {
+            if (invocation.<List<DeadlineReminder>>getArgument(0).size() == 1) {
+                throw new IllegalStateException("mail server down");
+            }
+            return null;
+        }).when(notificationSender).sendDeadlineReminders(anyList());
+        deadlineReminderJob.run(yesterday);
+
+        doNothing().when(notificationSender).sendDeadlineReminders(anyList());
+        assertThat(deadlineReminderJob.run(today)).isEqualTo(5); // A fresh scan of today's window
+
+        ReminderCheckpoint failedDay = checkpointRepository.findById(yesterday).orElseThrow();
+        assertThat(failedDay.isCompleted()).isFalse();
+        assertThat(failedDay.getRemindersSent()).isEqualTo(4);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DeadlineReminder> capturedReminders() {
+        ArgumentCaptor<List<DeadlineReminder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender, atLeastOnce()).sendDeadlineReminders(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+}
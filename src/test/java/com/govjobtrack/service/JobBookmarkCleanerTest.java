@@ -0,0 +1,161 @@
+package com.govjobtrack.service;
+
+import com.govjobtrack.model.*; // Job, User, RoleEntity, Bookmark
+import com.govjobtrack.notification.NotificationSender;
+import com.govjobtrack.repository.BookmarkRepository;
+import com.govjobtrack.repository.JobRepository;
+import com.govjobtrack.repository.RoleRepository;
+import com.govjobtrack.repository.UserRepository;
+import com.govjobtrack.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Not @Transactional: every chunk commits on its own, and large deletes run on the cleaner's thread
+@SpringBootTest(properties = {"app.jobs.delete.chunk-size=2", "app.jobs.delete.async-threshold=3", "app.jobs.delete.notify-users=true"})
+public class JobBookmarkCleanerTest {
+
+    @Autowired
+    private JobBookmarkCleaner jobBookmarkCleaner;
+
+    @Autowired
+    private BookmarkedJobIdsCache bookmarkedJobIdsCache;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JobService jobService;
+
+    @MockBean
+    private NotificationSender notificationSender;
+
+    @SpyBean
+    private CoBookmarkIndex coBookmarkIndex;
+
+    private final List<User> users = new ArrayList<>();
+    private Job otherJob;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity userRole = roleRepository.findByName(Role.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new RoleEntity(Role.ROLE_USER)));
+        for (int i = 0; i < 5; i++) {
+            User user = new User("Cleanup", "User" + i, "cleanup" + i + "@test.com", "password");
+            user.setRoles(Collections.singleton(userRole));
+            users.add(userRepository.save(user));
+        }
+        otherJob = jobRepository.save(new Job(null, "Unaffected", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(5), null, users.get(0)));
+        bookmarkRepository.save(new Bookmark(users.get(0), otherJob));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookmarkRepository.deleteAll();
+        jobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deleteJob_fewBookmarks_deletesInlineInChunks() {
+        Job job = bookmarkedJob(3);
+        long[] before = bookmarkedJobIdsCache.getBookmarkedJobIds(users.get(0).getId()); // Warm the user's set
+
+        assertThat(jobBookmarkCleaner.deleteJob(job.getId(), job.getTitle())).isTrue();
+
+        assertThat(jobRepository.existsById(job.getId())).isFalse();
+        assertThat(bookmarkRepository.countByJobId(job.getId())).isZero();
+        assertThat(bookmarkRepository.countByJobId(otherJob.getId())).isEqualTo(1);
+        assertThat(before).contains(job.getId());
+        assertThat(bookmarkedJobIdsCache.getBookmarkedJobIds(users.get(0).getId())).containsExactly(otherJob.getId());
+        // Chunks of 2 and 1, notices sent in chunks once the job row is gone
+        verify(notificationSender, times(2)).sendJobDeletedNotices(eq(job.getId()), eq(job.getTitle()), anyList());
+    }
+
+    @Test
+    void deleteJobThroughService_notifiesAfterTheJobDeleteCommits() {
+        Job job = bookmarkedJob(3);
+        List<Boolean> jobExistedAtNotice = new ArrayList<>();
+        doAnswer(invocation -> jobExistedAtNotice.add(jobRepository.existsById(job.getId())))
+                .when(notificationSender).sendJobDeletedNotices(eq(job.getId()), eq(job.getTitle()), anyList());
+
+        jobService.deleteJob(job.getId(), UserDetailsImpl.build(users.get(0)));
+
+        assertThat(jobRepository.existsById(job.getId())).isFalse();
+        assertThat(bookmarkRepository.countByJobId(job.getId())).isZero();
+        assertThat(jobExistedAtNotice).containsExactly(false, false); // Two chunks of notices, both after the commit
+    }
+
+    @Test
+    void deleteJobThroughService_failedJobDelete_notifiesNobody() {
+        Job job = bookmarkedJob(3);
+        doThrow(new IllegalStateException("Simulated failure")).when(coBookmarkIndex).onJobDeleted(job.getId());
+
+        assertThatThrownBy(() -> jobService.deleteJob(job.getId(), UserDetailsImpl.build(users.get(0))))
+                .isInstanceOf(IllegalStateException.class);
+
+        // The first chunk committed, the one deleting the job row rolled back
+        assertThat(jobRepository.existsById(job.getId())).isTrue();
+        assertThat(bookmarkRepository.countByJobId(job.getId())).isEqualTo(1);
+        verifyNoInteractions(notificationSender);
+    }
+
+    @Test
+    void deleteJob_manyBookmarks_deletesInBackground() {
+        Job job = bookmarkedJob(5);
+
+        assertThat(jobBookmarkCleaner.deleteJob(job.getId(), job.getTitle())).isFalse();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> userIds = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender, timeout(5000).times(3)).sendJobDeletedNotices(eq(job.getId()), eq(job.getTitle()), userIds.capture());
+        assertThat(userIds.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList()))
+                .containsExactlyInAnyOrderElementsOf(users.stream().map(User::getId).collect(Collectors.toList()));
+        assertThat(jobRepository.existsById(job.getId())).isFalse();
+        assertThat(bookmarkRepository.countByJobId(job.getId())).isZero();
+    }
+
+    @Test
+    void deleteJob_noBookmarks_deletesJob() {
+        Job job = bookmarkedJob(0);
+
+        assertThat(jobBookmarkCleaner.deleteJob(job.getId(), job.getTitle())).isTrue();
+
+        assertThat(jobRepository.existsById(job.getId())).isFalse();
+        verifyNoInteractions(notificationSender);
+    }
+
+    private Job bookmarkedJob(int bookmarks) {
+        Job job = jobRepository.save(new Job(null, "Popular Job", "Dept", "Desc", "Qual", null, LocalDate.now().plusDays(5), null, users.get(0)));
+        for (int i = 0; i < bookmarks; i++) {
+            bookmarkRepository.save(new Bookmark(users.get(i), job));
+        }
+        return job;
+    }
+}
@@ -0,0 +1,22 @@
+-- Schema generated by Hibernate (ddl-auto=update, H2Dialect) from the mappings as they were before the Flyway
+-- migrations, with its hashed constraint names, plus a few rows; see LegacySchemaUpgradeTest
+create table bookmarks (id bigint generated by default as identity, bookmarked_date timestamp not null, job_id bigint not null, user_id bigint not null, primary key (id));
+create table jobs (id bigint generated by default as identity, application_link varchar(255), department varchar(255), description clob, last_date_to_apply date, posted_date timestamp not null, qualification clob, title varchar(255), created_by_user_id bigint not null, primary key (id));
+create table roles (id integer generated by default as identity, name varchar(20) not null, primary key (id));
+create table user_roles (user_id bigint not null, role_name integer not null, primary key (user_id, role_name));
+create table users (id bigint generated by default as identity, created_at timestamp not null, email varchar(255), first_name varchar(255), last_name varchar(255), password varchar(255), primary key (id));
+alter table bookmarks add constraint UK11qbytv984iso8qbh3nggxsjl unique (user_id, job_id);
+alter table roles add constraint UK_ofx66keruapi6vyqpv6f2or37 unique (name);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table bookmarks add constraint FKn7m2tvrmm8hq11ahswawj0kq6 foreign key (job_id) references jobs;
+alter table bookmarks add constraint FKdbsho2e05w5r13fkjqfjmge5f foreign key (user_id) references users;
+alter table jobs add constraint FKdkxkvwics1m1weva7kq8dhwf4 foreign key (created_by_user_id) references users;
+alter table user_roles add constraint FKdcdh0gl1mdce42vy0klyio6fi foreign key (role_name) references roles;
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users;
+
+insert into roles (name) values ('ROLE_USER');
+insert into users (created_at, email, first_name, last_name, password) values (current_timestamp, 'legacy@test.com', 'Legacy', 'User', 'x');
+insert into user_roles (user_id, role_name) select u.id, r.id from users u, roles r;
+insert into jobs (posted_date, title, department, description, qualification, created_by_user_id)
+    select current_timestamp, 'Legacy Job', 'Dept', 'Desc', 'Qual', id from users;
+insert into bookmarks (bookmarked_date, job_id, user_id) select current_timestamp, j.id, u.id from jobs j, users u;